@@ -0,0 +1,78 @@
+package com.darumng.ems.auth.config;
+
+import com.darumng.ems.auth.event.UserEvent;
+import com.darumng.ems.auth.event.UserEventSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Map;
+
+@Configuration
+public class KafkaConfig {
+
+    @Value("${kafka.events.encoding:json}")
+    private String eventEncoding;
+
+    @Bean
+    public ProducerFactory<String, UserEvent> userEventProducerFactory(KafkaProperties kafkaProperties,
+                                                                       ObjectMapper objectMapper) {
+        // Keep whatever spring.kafka.* settings the service already ran with; only the serializers change
+        Map<String, Object> configProps = kafkaProperties.buildProducerProperties(null);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+                new UserEventSerializer(objectMapper, "binary".equalsIgnoreCase(eventEncoding)));
+    }
+
+    @Bean
+    public KafkaTemplate<String, UserEvent> userEventKafkaTemplate(
+            ProducerFactory<String, UserEvent> userEventProducerFactory) {
+        return new KafkaTemplate<>(userEventProducerFactory);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> revocationKafkaTemplate(KafkaProperties kafkaProperties) {
+        Map<String, Object> configProps = kafkaProperties.buildProducerProperties(null);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(configProps,
+                new StringSerializer(), new StringSerializer()));
+    }
+
+    /**
+     * Consumer for UserCache. Each instance has its own cache, so each one needs every
+     * event: it assigns itself all partitions (see {@link PartitionFinder}) with no
+     * consumer group, so nothing is left on the broker, and reads only what arrives after startup.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> userCacheListenerContainerFactory(
+            KafkaProperties kafkaProperties) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(userCacheConsumerFactory(kafkaProperties));
+        // There is no group to commit offsets to
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    @Bean
+    public PartitionFinder partitionFinder(KafkaProperties kafkaProperties) {
+        return new PartitionFinder(userCacheConsumerFactory(kafkaProperties));
+    }
+
+    private static DefaultKafkaConsumerFactory<String, byte[]> userCacheConsumerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> configProps = kafkaProperties.buildConsumerProperties(null);
+        configProps.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+}
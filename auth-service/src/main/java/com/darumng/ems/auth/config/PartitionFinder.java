@@ -0,0 +1,34 @@
+package com.darumng.ems.auth.config;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.util.List;
+
+/**
+ * Lists a topic's partitions for broadcast listeners, which assign every partition to
+ * themselves instead of joining a consumer group:
+ * {@code partitions = "#{@partitionFinder.partitions('${kafka.topic.user-events}')}"}.
+ * Partitions are read once at startup, so adding some to a topic needs a restart.
+ */
+public class PartitionFinder {
+
+    private final ConsumerFactory<?, ?> consumerFactory;
+
+    public PartitionFinder(ConsumerFactory<?, ?> consumerFactory) {
+        this.consumerFactory = consumerFactory;
+    }
+
+    public String[] partitions(String topic) {
+        try (Consumer<?, ?> consumer = consumerFactory.createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+            if (partitions == null || partitions.isEmpty()) {
+                throw new IllegalStateException("Topic " + topic + " has no partitions");
+            }
+            return partitions.stream()
+                    .map(partition -> String.valueOf(partition.partition()))
+                    .toArray(String[]::new);
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.darumng.ems.auth.config;
 
+import com.darumng.ems.auth.entity.User;
 import com.darumng.ems.auth.repository.UserRepository;
+import com.darumng.ems.auth.security.BoundedPasswordEncoder;
+import com.darumng.ems.auth.security.PasswordHashingExecutor;
+import com.darumng.ems.auth.security.ServiceIdentityFilter;
+import com.darumng.ems.auth.service.UserCache;
+import com.darumng.ems.auth.service.UserEventPublisher;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,39 +20,51 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
+@Slf4j
 public class SecurityConfig {
 
     private final UserRepository userRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final UserCache userCache;
+    private final UserEventPublisher userEventPublisher;
+    private final ServiceIdentityFilter serviceIdentityFilter;
+
+    @Value("${auth.bcrypt.strength:10}")
+    private int bcryptStrength;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Polled by the gateway and employee-service; lists every revoked session
+                        .requestMatchers("/api/auth/revocations").hasAuthority(ServiceIdentityFilter.INTERNAL_ROLE)
                         .requestMatchers("/api/auth/**", "/actuator/**", "/swagger-ui/**","/swagger-ui.html", "/v3/api-docs/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .authenticationProvider(authenticationProvider());
+                .authenticationProvider(authenticationProvider())
+                .addFilterBefore(serviceIdentityFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> userCache.find(username, userRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
@@ -53,9 +73,27 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes on login when the stored hash was made with a different BCrypt cost
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        // userDetails may be the shared cached instance, so the update goes through a fresh copy
+        return (userDetails, newPassword) -> {
+            User user = userRepository.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+            user.setPassword(newPassword);
+            user = userRepository.save(user);
+            log.info("Rehashed password for user: {}", user.getEmail());
+
+            userCache.evict(user);
+            userEventPublisher.publishUserUpdated(user);
+            return user;
+        };
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
@@ -63,6 +101,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(bcryptStrength, passwordHashingExecutor);
     }
 }
\ No newline at end of file
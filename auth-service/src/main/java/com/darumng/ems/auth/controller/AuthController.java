@@ -1,6 +1,7 @@
 package com.darumng.ems.auth.controller;
 
 import com.darumng.ems.auth.dto.*;
+import com.darumng.ems.auth.security.PasswordHashingRejectedException;
 import com.darumng.ems.auth.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -8,6 +9,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,6 +31,8 @@ public class AuthController {
             AuthResponse response = authService.register(request);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("User registered successfully", response));
+        } catch (PasswordHashingRejectedException e) {
+            return busy(e);
         } catch (Exception e) {
             log.error("Registration failed", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -42,6 +46,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(ApiResponse.success("Login successful", response));
+        } catch (PasswordHashingRejectedException e) {
+            return busy(e);
         } catch (Exception e) {
             log.error("Login failed", e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -62,9 +68,34 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the session the refresh token belongs to, including its access tokens")
+    public ResponseEntity<ApiResponse<Void>> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            authService.logout(request);
+            return ResponseEntity.ok(ApiResponse.success("Logged out successfully", null));
+        } catch (Exception e) {
+            log.error("Logout failed", e);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Invalid refresh token"));
+        }
+    }
+
+    @GetMapping("/revocations")
+    @Operation(summary = "Revoked sessions", description = "Ids of revoked token families whose access tokens may not have expired yet; internal, polled by the gateway and employee-service")
+    public ResponseEntity<ApiResponse<RevocationSnapshot>> revocations() {
+        return ResponseEntity.ok(ApiResponse.success(authService.getRevocations()));
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if auth service is running")
     public ResponseEntity<ApiResponse<String>> health() {
         return ResponseEntity.ok(ApiResponse.success("Auth service is running"));
     }
-}
\ No newline at end of file
+
+    private static <T> ResponseEntity<ApiResponse<T>> busy(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.darumng.ems.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationSnapshot {
+    // Revoked families that may still have unexpired access tokens
+    private List<String> familyIds;
+}
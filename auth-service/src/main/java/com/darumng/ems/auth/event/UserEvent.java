@@ -0,0 +1,39 @@
+package com.darumng.ems.auth.event;
+
+import com.darumng.ems.auth.entity.User;
+
+/**
+ * Payload of the user-events topic. The JSON form keeps the field names of the
+ * original map-based events, so existing consumers read it unchanged.
+ */
+public record UserEvent(
+        Type eventType,
+        Long userId,
+        String email,
+        String firstName,
+        String lastName,
+        long timestamp) {
+
+    /**
+     * Event types with their wire code in the binary encoding; only ever append.
+     */
+    public enum Type {
+        USER_CREATED(1),
+        USER_UPDATED(2);
+
+        private final int code;
+
+        Type(int code) {
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+
+    public static UserEvent of(Type eventType, User user) {
+        return new UserEvent(eventType, user.getId(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,67 @@
+package com.darumng.ems.auth.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes {@link UserEvent}s as the compact binary format or, while consumers still
+ * expect it, as the original JSON. Content type and schema id go into record headers
+ * so a consumer can tell the two apart.
+ */
+public class UserEventSerializer implements Serializer<UserEvent> {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String SCHEMA_ID_HEADER = "ems-schema-id";
+
+    public static final String JSON_CONTENT_TYPE = "application/json";
+    public static final String BINARY_CONTENT_TYPE = "application/vnd.ems.event+binary";
+
+    public static final String SCHEMA_ID = "user-event.v1";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final byte[] SCHEMA_ID_BYTES = SCHEMA_ID.getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final boolean binary;
+
+    public UserEventSerializer(ObjectMapper objectMapper, boolean binary) {
+        this.objectMapper = objectMapper;
+        this.binary = binary;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, UserEvent event) {
+        headers.add(CONTENT_TYPE_HEADER,
+                (binary ? BINARY_CONTENT_TYPE : JSON_CONTENT_TYPE).getBytes(StandardCharsets.UTF_8));
+        headers.add(SCHEMA_ID_HEADER, SCHEMA_ID_BYTES);
+        return serialize(topic, event);
+    }
+
+    @Override
+    public byte[] serialize(String topic, UserEvent event) {
+        if (event == null) {
+            return null;
+        }
+        if (!binary) {
+            try {
+                return objectMapper.writeValueAsBytes(event);
+            } catch (JsonProcessingException e) {
+                throw new SerializationException("Failed to serialize " + event.eventType() + " event", e);
+            }
+        }
+        return new BinaryEventWriter()
+                .writeByte(FORMAT_VERSION)
+                .writeByte(event.eventType().getCode())
+                .writeLong(event.userId())
+                .writeString(event.email())
+                .writeString(event.firstName())
+                .writeString(event.lastName())
+                .writeLong(event.timestamp())
+                .toByteArray();
+    }
+}
@@ -0,0 +1,32 @@
+package com.darumng.ems.auth.repository;
+
+import com.darumng.ems.auth.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, UUID> {
+
+    /**
+     * @return 1 if this call revoked the family, 0 if it was already revoked or is gone
+     */
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revokedAt = :now WHERE f.id = :id AND f.revokedAt IS NULL")
+    int revoke(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT f.id FROM RefreshTokenFamily f WHERE f.revokedAt >= :since")
+    List<UUID> findIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    // Tokens go with their family (ON DELETE CASCADE)
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt < :now " +
+            "AND (f.revokedAt IS NULL OR f.revokedAt < :revokedBefore)")
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("revokedBefore") LocalDateTime revokedBefore);
+}
@@ -0,0 +1,28 @@
+package com.darumng.ems.auth.repository;
+
+import com.darumng.ems.auth.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    /**
+     * Claims the token for one rotation. Concurrent callers race on the row, so at most
+     * one of them gets 1; everyone else gets 0.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now " +
+            "WHERE t.id = :id AND t.familyId = :familyId AND t.usedAt IS NULL")
+    int markUsed(@Param("id") UUID id, @Param("familyId") UUID familyId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -8,6 +8,6 @@ import java.util.Optional;
 
 
 @Repository
-interface RoleRepository extends JpaRepository<Role, Long> {
+public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
 }
\ No newline at end of file
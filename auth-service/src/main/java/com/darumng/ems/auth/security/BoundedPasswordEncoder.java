@@ -0,0 +1,47 @@
+package com.darumng.ems.auth.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on the {@link PasswordHashingExecutor} instead of the request thread.
+ * Hashes made with a different cost than the configured one report
+ * {@link #upgradeEncoding}, so DaoAuthenticationProvider rehashes them on the next
+ * successful login, whether the cost went up or down.
+ */
+@RequiredArgsConstructor
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final PasswordHashingExecutor executor;
+
+    public BoundedPasswordEncoder(int strength, PasswordHashingExecutor executor) {
+        this(new BCryptPasswordEncoder(strength), strength, executor);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.run("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.run("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
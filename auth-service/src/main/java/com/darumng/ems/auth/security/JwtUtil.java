@@ -14,21 +14,24 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 
 @Component
 public class JwtUtil {
 
+    // Refresh-token family the token belongs to; on access tokens it is what the gateway checks for revocation
+    public static final String FAMILY_CLAIM = "fid";
+    public static final String TYPE_CLAIM = "type";
+    public static final String REFRESH_TYPE = "refresh";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    @Value("${jwt.refresh-expiration}")
-    private Long refreshExpiration;
-
     /**
      * Get signing key from secret
      */
@@ -39,8 +42,9 @@ public class JwtUtil {
     /**
      * Generate access token
      */
-    public String generateToken(User user) {
+    public String generateToken(User user, UUID familyId) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(FAMILY_CLAIM, familyId.toString());
         claims.put("userId", user.getId());
         claims.put("email", user.getEmail());
         claims.put("firstName", user.getFirstName());
@@ -59,13 +63,16 @@ public class JwtUtil {
     }
 
     /**
-     * Generate refresh token
+     * Generate refresh token; tokenId is its row in refresh_tokens
      */
-    public String generateRefreshToken(User user) {
+    public String generateRefreshToken(User user, UUID tokenId, UUID familyId, Date expiresAt) {
         return Jwts.builder()
+                .id(tokenId.toString())
                 .subject(user.getEmail())
+                .claim(TYPE_CLAIM, REFRESH_TYPE)
+                .claim(FAMILY_CLAIM, familyId.toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + refreshExpiration))
+                .expiration(expiresAt)
                 .signWith(getSigningKey())
                 .compact();
     }
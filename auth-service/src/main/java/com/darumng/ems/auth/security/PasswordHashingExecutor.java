@@ -0,0 +1,103 @@
+package com.darumng.ems.auth.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, size-limited pool for BCrypt work. Request threads hand hashing over and
+ * wait; once every worker is busy and the queue is full, further work is rejected at
+ * once, so a login storm holds at most threads + queue-capacity request threads and the
+ * rest of the service stays responsive.
+ * <p>
+ * Metrics: auth.password.queue.wait and auth.password.hash (timers, tagged by operation),
+ * auth.password.rejected (counter) and auth.password.queue.size (gauge).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final MeterRegistry meterRegistry;
+
+    // BCrypt is CPU-bound; 0 means one worker per core
+    @Value("${auth.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        // Platform threads even in virtual-thread mode: the work never blocks, it only computes
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        meterRegistry.gauge("auth.password.queue.size", executor, e -> e.getQueue().size());
+        log.info("Password hashing executor started with {} threads and a queue of {}", size, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs the task on the pool and waits for its result.
+     *
+     * @throws PasswordHashingRejectedException if the pool is saturated
+     */
+    public <T> T run(String operation, Supplier<T> task) {
+        Timer queueWait = meterRegistry.timer("auth.password.queue.wait", "operation", operation);
+        Timer hashTime = meterRegistry.timer("auth.password.hash", "operation", operation);
+        long submitted = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    hashTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("auth.password.rejected", "operation", operation).increment();
+            throw new PasswordHashingRejectedException("Too many concurrent sign-ins; retry shortly");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.darumng.ems.auth.security;
+
+/**
+ * Thrown when the password hashing executor is saturated; callers answer 503 so
+ * clients back off instead of piling up behind BCrypt.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.darumng.ems.auth.security;
+
+/**
+ * Thrown when a refresh token that was already rotated is presented again. Its family
+ * has been revoked by then, and that revocation must commit even though the refresh fails.
+ */
+public class RefreshTokenReuseException extends RuntimeException {
+
+    public RefreshTokenReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,108 @@
+package com.darumng.ems.auth.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Authenticates other services by the signed X-User-Identity header the gateway's
+ * IdentitySigner produces: base64url("expiresEpochSecond|role,role|name") + "." +
+ * base64url(HMAC-SHA256), keyed from the shared secret. Internal endpoints require
+ * {@link #INTERNAL_ROLE}, which no user token carries, so a client cannot reach them
+ * through the gateway's public /api/auth route.
+ */
+@Component
+@Slf4j
+public class ServiceIdentityFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-User-Identity";
+    public static final String INTERNAL_ROLE = "ROLE_INTERNAL";
+
+    private static final Base64.Decoder BASE64 = Base64.getUrlDecoder();
+
+    @Value("${gateway.identity.secret:${jwt.secret}}")
+    private String secret;
+
+    private Mac prototype;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        Mac kdf = Mac.getInstance("HmacSHA256");
+        kdf.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] key = kdf.doFinal("ems-gateway-identity".getBytes(StandardCharsets.UTF_8));
+
+        prototype = Mac.getInstance("HmacSHA256");
+        prototype.init(new SecretKeySpec(key, "HmacSHA256"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HEADER);
+        if (header != null) {
+            UsernamePasswordAuthenticationToken authentication = verify(header);
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The authentication the header carries, or null if it is malformed, forged or expired
+     */
+    UsernamePasswordAuthenticationToken verify(String header) {
+        try {
+            int dot = header.indexOf('.');
+            if (dot < 0) {
+                return null;
+            }
+            byte[] payload = BASE64.decode(header.substring(0, dot));
+            byte[] signature = BASE64.decode(header.substring(dot + 1));
+            if (!MessageDigest.isEqual(mac().doFinal(payload), signature)) {
+                log.debug("Rejected identity header with a bad signature");
+                return null;
+            }
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\|", 3);
+            if (Long.parseLong(parts[0]) < Instant.now().getEpochSecond()) {
+                return null;
+            }
+            List<SimpleGrantedAuthority> authorities = parts[1].isEmpty() ? List.of()
+                    : Arrays.stream(parts[1].split(",")).map(SimpleGrantedAuthority::new).toList();
+            return new UsernamePasswordAuthenticationToken(parts[2], null, authorities);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    // Mac is not thread-safe; a clone of the initialised prototype skips key setup
+    private Mac mac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC provider does not support cloning", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.darumng.ems.auth.service;
+
+import com.darumng.ems.auth.dto.*;
+import com.darumng.ems.auth.entity.Role;
+import com.darumng.ems.auth.entity.User;
+import com.darumng.ems.auth.repository.UserRepository;
+import com.darumng.ems.auth.security.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthService {
+
+    // Roles anyone may give themselves on the public register endpoint
+    private static final Set<String> SELF_ASSIGNABLE_ROLES = Set.of("ROLE_EMPLOYEE");
+
+    private final UserRepository userRepository;
+    private final RoleCache roleCache;
+    private final UserCache userCache;
+    private final PasswordEncoder passwordEncoder;
+    private final AuthenticationManager authenticationManager;
+    private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final UserEventPublisher eventPublisher;
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    @Transactional
+    public AuthResponse register(RegisterRequest request) {
+        if (userRepository.existsByEmail(request.getEmail())) {
+            throw new RuntimeException("Email already registered");
+        }
+
+        List<String> roleNames = request.getRoles() == null || request.getRoles().isEmpty()
+                ? List.of("ROLE_EMPLOYEE")
+                : request.getRoles();
+        Set<Role> roles = new HashSet<>();
+        for (String roleName : roleNames) {
+            if (!SELF_ASSIGNABLE_ROLES.contains(roleName)) {
+                throw new IllegalArgumentException("Role cannot be self-assigned: " + roleName);
+            }
+            roles.add(roleCache.getByName(roleName));
+        }
+
+        User user = User.builder()
+                .email(request.getEmail())
+                .password(passwordEncoder.encode(request.getPassword()))
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .roles(roles)
+                .enabled(true)
+                .build();
+
+        user = userRepository.save(user);
+        log.info("User registered: {}", user.getEmail());
+
+        // A failed login just before registering may have cached the email as unknown
+        userCache.evict(user);
+        eventPublisher.publishUserCreated(user);
+
+        return buildResponse(refreshTokenService.issue(user));
+    }
+
+    public AuthResponse login(LoginRequest request) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        User user = (User) authentication.getPrincipal();
+        log.info("User logged in: {}", user.getEmail());
+        return buildResponse(refreshTokenService.issue(user));
+    }
+
+    /**
+     * Rotates the refresh token: the one presented is spent and a new one is returned.
+     * The user comes from the user cache, so a hit needs no users query.
+     */
+    public AuthResponse refreshToken(RefreshTokenRequest request) {
+        return buildResponse(refreshTokenService.rotate(request.getRefreshToken()));
+    }
+
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+
+    public RevocationSnapshot getRevocations() {
+        return refreshTokenService.getRevocations();
+    }
+
+    private AuthResponse buildResponse(RefreshTokenService.Issued issued) {
+        return AuthResponse.builder()
+                .accessToken(jwtUtil.generateToken(issued.user(), issued.familyId()))
+                .refreshToken(issued.refreshToken())
+                .tokenType("Bearer")
+                .expiresIn(expiration / 1000)
+                .user(toUserInfo(issued.user()))
+                .build();
+    }
+
+    private static UserInfo toUserInfo(User user) {
+        return UserInfo.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .roles(user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .build();
+    }
+}
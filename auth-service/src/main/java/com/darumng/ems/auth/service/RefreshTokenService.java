@@ -0,0 +1,169 @@
+package com.darumng.ems.auth.service;
+
+import com.darumng.ems.auth.dto.RevocationSnapshot;
+import com.darumng.ems.auth.entity.RefreshToken;
+import com.darumng.ems.auth.entity.RefreshTokenFamily;
+import com.darumng.ems.auth.entity.User;
+import com.darumng.ems.auth.repository.RefreshTokenFamilyRepository;
+import com.darumng.ems.auth.repository.RefreshTokenRepository;
+import com.darumng.ems.auth.security.JwtUtil;
+import com.darumng.ems.auth.security.RefreshTokenReuseException;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Refresh tokens are single use. Each login starts a family, and each refresh marks the
+ * presented token used and issues the next one in the same family. A used token coming
+ * back means two parties hold the same session, so the whole family is revoked, along with
+ * the access tokens issued from it (they carry the family id, which the gateway checks).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final RefreshTokenRepository tokenRepository;
+    private final UserDetailsService userDetailsService;
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationPublisher revocationPublisher;
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    @Value("${jwt.refresh-expiration}")
+    private Long refreshExpiration;
+
+    /**
+     * A refresh token and the family its access token must carry
+     */
+    public record Issued(User user, UUID familyId, String refreshToken) {
+    }
+
+    @Transactional
+    public Issued issue(User user) {
+        LocalDateTime expiresAt = nextExpiry();
+        RefreshTokenFamily family = familyRepository.save(RefreshTokenFamily.builder()
+                .userId(user.getId())
+                .expiresAt(expiresAt)
+                .build());
+        return new Issued(user, family.getId(), nextToken(user, family, expiresAt));
+    }
+
+    /**
+     * Throws {@link RefreshTokenReuseException} when the token was already rotated; the
+     * family is revoked and stays revoked, so the exception does not roll back.
+     */
+    @Transactional(noRollbackFor = RefreshTokenReuseException.class)
+    public Issued rotate(String refreshToken) {
+        Claims claims = parse(refreshToken);
+        UUID tokenId = UUID.fromString(claims.getId());
+        RefreshTokenFamily family = familyRepository.findById(familyId(claims))
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        if (family.getRevokedAt() != null) {
+            throw new RuntimeException("Refresh token has been revoked");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (tokenRepository.markUsed(tokenId, family.getId(), now) == 0) {
+            if (!tokenRepository.existsById(tokenId)) {
+                throw new RuntimeException("Invalid refresh token");
+            }
+            revoke(family, now);
+            log.warn("Refresh token reuse detected; revoked token family {} of user {}",
+                    family.getId(), family.getUserId());
+            throw new RefreshTokenReuseException("Refresh token has already been used");
+        }
+
+        User user = (User) userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!user.isEnabled() || !user.getId().equals(family.getUserId())) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        return new Issued(user, family.getId(), nextToken(user, family, nextExpiry()));
+    }
+
+    /**
+     * Ends the session the token belongs to
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        familyRepository.findById(familyId(parse(refreshToken)))
+                .ifPresent(family -> revoke(family, LocalDateTime.now()));
+    }
+
+    /**
+     * Families whose access tokens may still be in use, for the gateways to rebuild their filters from
+     */
+    @Transactional(readOnly = true)
+    public RevocationSnapshot getRevocations() {
+        LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(expiration));
+        return RevocationSnapshot.builder()
+                .familyIds(familyRepository.findIdsRevokedSince(since).stream().map(UUID::toString).toList())
+                .build();
+    }
+
+    @Scheduled(cron = "${auth.refresh-tokens.purge-cron:0 17 4 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int tokens = tokenRepository.deleteExpired(now);
+        // Revoked families stay listed until their last access token has expired
+        int families = familyRepository.deleteExpired(now, now.minus(Duration.ofMillis(expiration)));
+        if (tokens > 0 || families > 0) {
+            log.info("Purged {} expired refresh tokens and {} token families", tokens, families);
+        }
+    }
+
+    private LocalDateTime nextExpiry() {
+        return LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration));
+    }
+
+    // The family is managed here, so its new expiry is flushed with the transaction
+    private String nextToken(User user, RefreshTokenFamily family, LocalDateTime expiresAt) {
+        RefreshToken token = tokenRepository.save(RefreshToken.builder()
+                .familyId(family.getId())
+                .expiresAt(expiresAt)
+                .build());
+        family.setExpiresAt(expiresAt);
+
+        return jwtUtil.generateRefreshToken(user, token.getId(), family.getId(),
+                Date.from(expiresAt.atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    private void revoke(RefreshTokenFamily family, LocalDateTime now) {
+        if (familyRepository.revoke(family.getId(), now) > 0) {
+            // Access tokens issued from the family live at most this long past the revocation
+            revocationPublisher.publishRevokedAfterCommit(family.getId(),
+                    now.plus(Duration.ofMillis(expiration)).atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+    /**
+     * Signature and expiry are checked by the parser; tokens without an id or family
+     * (access tokens, or refresh tokens from before rotation) are refused
+     */
+    private Claims parse(String refreshToken) {
+        Claims claims = jwtUtil.extractAllClaims(refreshToken);
+        if (!JwtUtil.REFRESH_TYPE.equals(claims.get(JwtUtil.TYPE_CLAIM, String.class))
+                || claims.getId() == null || claims.get(JwtUtil.FAMILY_CLAIM, String.class) == null) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        return claims;
+    }
+
+    private static UUID familyId(Claims claims) {
+        return UUID.fromString(claims.get(JwtUtil.FAMILY_CLAIM, String.class));
+    }
+}
@@ -0,0 +1,41 @@
+package com.darumng.ems.auth.service;
+
+import com.darumng.ems.auth.entity.Role;
+import com.darumng.ems.auth.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The roles table, read once at startup. It only holds the seeded roles and
+ * changes only through migrations, which need a restart anyway.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleCache {
+
+    private final RoleRepository roleRepository;
+
+    private Map<String, Role> rolesByName;
+
+    @PostConstruct
+    void load() {
+        rolesByName = roleRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity()));
+        log.info("Loaded {} roles", rolesByName.size());
+    }
+
+    public Role getByName(String name) {
+        Role role = rolesByName.get(name);
+        if (role == null) {
+            throw new IllegalArgumentException("Unknown role: " + name);
+        }
+        return role;
+    }
+}
@@ -0,0 +1,52 @@
+package com.darumng.ems.auth.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Tells the gateways about revoked refresh-token families. Records are keyed by family id;
+ * the value is the epoch millis after which the family's access tokens have all expired
+ * and the gateway can forget it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationPublisher {
+
+    private final KafkaTemplate<String, String> revocationKafkaTemplate;
+
+    @Value("${kafka.topic.token-revocations:token-revocations}")
+    private String revocationsTopic;
+
+    /**
+     * Sent once the revoking transaction commits, so a rolled-back revocation never reaches the gateways
+     */
+    public void publishRevokedAfterCommit(UUID familyId, Instant forgetAfter) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publishRevoked(familyId, forgetAfter);
+            }
+        });
+    }
+
+    private void publishRevoked(UUID familyId, Instant forgetAfter) {
+        try {
+            revocationKafkaTemplate.send(revocationsTopic, familyId.toString(),
+                    Long.toString(forgetAfter.toEpochMilli()));
+
+            log.info("Published revocation of token family: {}", familyId);
+        } catch (Exception e) {
+            // The gateways still pick it up from their next snapshot
+            log.error("Failed to publish token revocation", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.darumng.ems.auth.service;
+
+import com.darumng.ems.auth.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Users (with their roles) by email, so login and token refresh skip the users/user_roles/roles
+ * join on a hit, plus a short-lived negative cache so unknown emails do not reach the database
+ * on every attempt. Every instance listens to the user-events topic and drops the user an event
+ * is about; the write-through TTL bounds staleness if an event is missed.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    @Value("${auth.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${auth.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${auth.user-cache.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
+
+    private Cache<String, User> users;
+    private Cache<String, Boolean> misses;
+
+    @PostConstruct
+    void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        misses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Cached user, or the loader's result, which is cached either way. The returned
+     * instance is shared between requests and must not be modified.
+     */
+    public Optional<User> find(String email, Function<String, Optional<User>> loader) {
+        User user = users.getIfPresent(email);
+        if (user != null) {
+            return Optional.of(user);
+        }
+        if (misses.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+
+        Optional<User> loaded = loader.apply(email);
+        if (loaded.isPresent()) {
+            users.put(email, loaded.get());
+        } else {
+            misses.put(email, Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the user locally; other instances follow when the user event reaches them
+     */
+    public void evict(User user) {
+        users.invalidate(user.getEmail());
+        misses.invalidate(user.getEmail());
+    }
+
+    /**
+     * Records are keyed by user id, so the payload is never decoded. The user may have
+     * changed email, so entries are matched on id. A new user may be sitting in the
+     * negative cache under their email, and misses are cheap to rebuild, so those go too.
+     */
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = "${kafka.topic.user-events}",
+                    partitions = "#{@partitionFinder.partitions('${kafka.topic.user-events}')}"),
+            containerFactory = "userCacheListenerContainerFactory")
+    public void onUserEvent(ConsumerRecord<String, byte[]> record) {
+        if (record.key() == null) {
+            return;
+        }
+        Long userId = Long.valueOf(record.key());
+        users.asMap().values().removeIf(user -> userId.equals(user.getId()));
+        misses.invalidateAll();
+        log.debug("Evicted user {} from the user cache", userId);
+    }
+}
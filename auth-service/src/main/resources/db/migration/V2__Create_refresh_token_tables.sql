@@ -0,0 +1,27 @@
+-- One family per login; every refresh rotates to a new token in the same family.
+-- Revoking the family ends the session, including access tokens issued from it.
+CREATE TABLE refresh_token_families (
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE refresh_tokens (
+    id UUID PRIMARY KEY,
+    family_id UUID NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (family_id) REFERENCES refresh_token_families(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_token_families_user_id ON refresh_token_families(user_id);
+CREATE INDEX idx_refresh_token_families_expires_at ON refresh_token_families(expires_at);
+-- The gateway's revocation snapshot reads recently revoked families only
+CREATE INDEX idx_refresh_token_families_revoked_at ON refresh_token_families(revoked_at)
+    WHERE revoked_at IS NOT NULL;
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
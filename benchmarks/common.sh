@@ -0,0 +1,56 @@
+#!/bin/bash
+
+# Shared helpers for the benchmark scripts; source it after setting MODE.
+
+GATEWAY_URL=${GATEWAY_URL:-http://localhost:8080}
+EMPLOYEE_URL=${EMPLOYEE_URL:-http://localhost:8082}
+AUTH_URL=${AUTH_URL:-http://localhost:8081}
+EMPLOYEE_ID=${EMPLOYEE_ID:-1}
+DEPARTMENT_ID=${DEPARTMENT_ID:-1}
+DURATION=${DURATION:-60s}
+THREADS=${THREADS:-16}
+CONNECTIONS=${CONNECTIONS:-"1000 5000"}
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+if ! command -v wrk &> /dev/null; then
+    echo -e "${RED}✗ wrk is not installed${NC}"
+    exit 1
+fi
+if [ -z "$TOKEN" ]; then
+    echo -e "${RED}✗ Set TOKEN to an admin access token${NC}"
+    exit 1
+fi
+
+RESULTS_DIR="$(dirname "$0")/results/$MODE"
+mkdir -p "$RESULTS_DIR"
+
+# name url [extra wrk args...]
+run_scenario() {
+    local name=$1
+    local url=$2
+    shift 2
+
+    for connections in $CONNECTIONS; do
+        local output="$RESULTS_DIR/$name-c$connections.txt"
+        echo "Running $name with $connections connections for $DURATION..."
+        wrk -t"$THREADS" -c"$connections" -d"$DURATION" --latency --timeout 10s "$@" "$url" > "$output"
+        echo -e "${GREEN}✓ $output${NC}"
+    done
+}
+
+print_summary() {
+    echo ""
+    echo "=========================================="
+    echo "Summary ($MODE)"
+    echo "=========================================="
+    printf "%-28s %12s %12s %10s\n" "scenario" "req/s" "p99" "non-2xx"
+    for output in "$RESULTS_DIR"/*.txt; do
+        rps=$(awk '/Requests\/sec/ {print $2}' "$output")
+        p99=$(awk '$1 == "99%" {print $2}' "$output")
+        errors=$(awk '/Non-2xx or 3xx responses/ {print $5}' "$output")
+        printf "%-28s %12s %12s %10s\n" "$(basename "$output" .txt)" "$rps" "$p99" "${errors:-0}"
+    done
+}
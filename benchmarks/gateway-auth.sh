@@ -0,0 +1,27 @@
+#!/bin/bash
+
+# ============================================
+# Gateway token verification benchmark
+# ============================================
+#
+# Measures gateway throughput and p99 latency when every request repeats the
+# same bearer token, which is what the verified-token cache speeds up. Run it
+# against a gateway built without the cache and one built with it, same
+# downstream services and data:
+#
+#   TOKEN=<admin JWT> ./benchmarks/gateway-auth.sh uncached
+#   TOKEN=<admin JWT> ./benchmarks/gateway-auth.sh cached
+#
+# The department lookup is served from employee-service's cache, so the
+# gateway's own per-request cost dominates. Compare req/s between the two
+# summaries. Results are written to benchmarks/results/<mode>/.
+# See virtual-threads.sh for the load-generator requirements.
+
+MODE=${1:?Usage: $0 <uncached|cached>}
+
+source "$(dirname "$0")/common.sh"
+
+run_scenario gateway-department-by-id "$GATEWAY_URL/api/departments/$DEPARTMENT_ID" \
+    -H "Authorization: Bearer $TOKEN"
+
+print_summary
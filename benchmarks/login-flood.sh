@@ -0,0 +1,87 @@
+#!/bin/bash
+
+# ============================================
+# Login flood: admission control benchmark
+# ============================================
+#
+# Floods /api/auth/login and, while the flood runs, measures whether the cheap
+# endpoints (/api/auth/health and /api/auth/refresh) stay fast. With the bounded
+# password-hashing executor the flood should see fast 503s once it saturates,
+# and the probes' p99 should stay close to an idle service.
+#
+#   ./benchmarks/login-flood.sh <label>
+#
+# Refresh tokens are single use, so before the flood starts one login per wrk
+# thread fetches a token pair, and each thread rotates its own refresh token over
+# a single connection. A timed-out refresh loses the rotated token and the next
+# one is refused as reuse, so watch the probe's non-2xx count. Results are
+# written to benchmarks/results/<label>/ (login-flood.txt is the flood itself;
+# its non-2xx count is the rejected logins). See virtual-threads.sh for the
+# load-generator requirements.
+
+MODE=${1:?Usage: $0 <label>}
+LOGIN_EMAIL=${LOGIN_EMAIL:-admin@darumng.com}
+LOGIN_PASSWORD=${LOGIN_PASSWORD:-Admin@123}
+AUTH_URL=${AUTH_URL:-http://localhost:8081}
+FLOOD_CONNECTIONS=${FLOOD_CONNECTIONS:-2000}
+# Must outlast both probe scenarios
+FLOOD_DURATION=${FLOOD_DURATION:-150s}
+
+THREADS=${THREADS:-16}
+
+LOGIN_BODY="{\"email\":\"$LOGIN_EMAIL\",\"password\":\"$LOGIN_PASSWORD\"}"
+REFRESH_TOKENS=""
+for _ in $(seq "$THREADS"); do
+    LOGIN_RESPONSE=$(curl -s -X POST "$AUTH_URL/api/auth/login" -H "Content-Type: application/json" -d "$LOGIN_BODY")
+    TOKEN=$(echo "$LOGIN_RESPONSE" | sed -n 's/.*"accessToken":"\([^"]*\)".*/\1/p')
+    REFRESH_TOKENS="$REFRESH_TOKENS\"$(echo "$LOGIN_RESPONSE" | sed -n 's/.*"refreshToken":"\([^"]*\)".*/\1/p')\","
+done
+
+source "$(dirname "$0")/common.sh"
+
+LOGIN_SCRIPT=$(mktemp)
+REFRESH_SCRIPT=$(mktemp)
+trap 'rm -f "$LOGIN_SCRIPT" "$REFRESH_SCRIPT"; kill "$FLOOD_PID" 2> /dev/null' EXIT
+cat > "$LOGIN_SCRIPT" << LUA
+wrk.method = "POST"
+wrk.headers["Content-Type"] = "application/json"
+wrk.body = '$LOGIN_BODY'
+LUA
+cat > "$REFRESH_SCRIPT" << LUA
+wrk.method = "POST"
+wrk.headers["Content-Type"] = "application/json"
+local tokens = { $REFRESH_TOKENS }
+local next_thread = 1
+
+function setup(thread)
+    thread:set("refresh_token", tokens[next_thread])
+    next_thread = next_thread + 1
+end
+
+function request()
+    return wrk.format(nil, nil, nil, '{"refreshToken":"' .. refresh_token .. '"}')
+end
+
+function response(status, headers, body)
+    local rotated = body:match('"refreshToken":"([^"]+)"')
+    if rotated then
+        refresh_token = rotated
+    end
+end
+LUA
+
+echo "Starting login flood with $FLOOD_CONNECTIONS connections for $FLOOD_DURATION..."
+wrk -t"$THREADS" -c"$FLOOD_CONNECTIONS" -d"$FLOOD_DURATION" --latency --timeout 10s -s "$LOGIN_SCRIPT" \
+    "$AUTH_URL/api/auth/login" > "$RESULTS_DIR/login-flood.txt" &
+FLOOD_PID=$!
+sleep 10
+
+# Probes run at a modest concurrency; what matters is their latency under the flood
+CONNECTIONS=${PROBE_CONNECTIONS:-50}
+run_scenario health-under-flood "$AUTH_URL/api/auth/health"
+# One connection per thread, so each refresh token is used once, in order
+CONNECTIONS=$THREADS
+run_scenario refresh-under-flood "$AUTH_URL/api/auth/refresh" -s "$REFRESH_SCRIPT"
+
+wait "$FLOOD_PID"
+print_summary
@@ -0,0 +1,30 @@
+#!/bin/bash
+
+# ============================================
+# Servlet vs reactive read-path benchmark
+# ============================================
+#
+# Measures throughput and p99 latency of employee-service's read endpoints at
+# 1k and 5k concurrent connections. Run it once per deployment against the
+# same data set:
+#
+#   1. Start employee-service normally, then:
+#        TOKEN=<admin JWT> ./benchmarks/reactive-reads.sh servlet
+#   2. Restart it with SPRING_PROFILES_ACTIVE=reactive (and R2DBC_URL set), then:
+#        TOKEN=<admin JWT> ./benchmarks/reactive-reads.sh reactive
+#
+# Results are written to benchmarks/results/<mode>/ and summarised at the end.
+# See virtual-threads.sh for the load-generator requirements.
+
+MODE=${1:?Usage: $0 <servlet|reactive>}
+
+source "$(dirname "$0")/common.sh"
+
+AUTH_HEADER="Authorization: Bearer $TOKEN"
+
+run_scenario employee-by-id "$EMPLOYEE_URL/api/employees/$EMPLOYEE_ID" -H "$AUTH_HEADER"
+run_scenario employees-page "$EMPLOYEE_URL/api/employees?size=50" -H "$AUTH_HEADER"
+run_scenario department-by-id "$EMPLOYEE_URL/api/departments/$DEPARTMENT_ID" -H "$AUTH_HEADER"
+run_scenario departments-page "$EMPLOYEE_URL/api/departments?size=50" -H "$AUTH_HEADER"
+
+print_summary
@@ -0,0 +1,41 @@
+#!/bin/bash
+
+# ============================================
+# Virtual-thread vs platform-thread benchmark
+# ============================================
+#
+# Measures throughput and p99 latency of the servlet services at 1k and 5k
+# concurrent connections. Run it once per mode against the same data set:
+#
+#   1. Start employee-service (and auth-service) normally, then:
+#        TOKEN=<admin JWT> ./benchmarks/virtual-threads.sh platform
+#   2. Restart them with SPRING_PROFILES_ACTIVE=virtual-threads, then:
+#        TOKEN=<admin JWT> ./benchmarks/virtual-threads.sh virtual
+#
+# Results are written to benchmarks/results/<mode>/ and summarised at the end.
+# Requires wrk (https://github.com/wg/wrk) and enough file descriptors on the
+# load generator (ulimit -n 20000). Run the load generator on a separate host
+# from the services, or the numbers mostly measure wrk competing for CPU.
+
+MODE=${1:?Usage: $0 <platform|virtual>}
+LOGIN_EMAIL=${LOGIN_EMAIL:-admin@darumng.com}
+LOGIN_PASSWORD=${LOGIN_PASSWORD:-Admin@123}
+
+source "$(dirname "$0")/common.sh"
+
+# wrk only sends GETs on its own; the login scenario needs a POST body
+LOGIN_SCRIPT=$(mktemp)
+trap 'rm -f "$LOGIN_SCRIPT"' EXIT
+cat > "$LOGIN_SCRIPT" << EOF
+wrk.method = "POST"
+wrk.headers["Content-Type"] = "application/json"
+wrk.body = '{"email":"$LOGIN_EMAIL","password":"$LOGIN_PASSWORD"}'
+EOF
+
+# Blocking JDBC: single-row read and a joined, aggregated page
+run_scenario employee-by-id "$EMPLOYEE_URL/api/employees/$EMPLOYEE_ID" -H "Authorization: Bearer $TOKEN"
+run_scenario departments "$EMPLOYEE_URL/api/departments" -H "Authorization: Bearer $TOKEN"
+# BCrypt plus a Kafka send on the request thread
+run_scenario login "$AUTH_URL/api/auth/login" -s "$LOGIN_SCRIPT"
+
+print_summary
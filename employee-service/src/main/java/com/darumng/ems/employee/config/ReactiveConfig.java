@@ -0,0 +1,55 @@
+package com.darumng.ems.employee.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Infrastructure for the reactive read path. R2DBC auto-configuration is excluded in
+ * {@code EmployeeServiceApplication} so the servlet deployment never needs an R2DBC URL
+ * and its reactive transaction manager cannot displace the JPA one; the pool is built
+ * here instead, only under this profile.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(
+            @Value("${spring.r2dbc.url}") String url,
+            @Value("${spring.r2dbc.username:${spring.datasource.username}}") String username,
+            @Value("${spring.r2dbc.password:${spring.datasource.password}}") String password,
+            @Value("${spring.r2dbc.pool.max-size:20}") int maxSize,
+            @Value("${spring.r2dbc.pool.max-acquire-time:PT2S}") Duration maxAcquireTime) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    // Tomcat is also on the classpath and would otherwise win; the point is Netty's event loop
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
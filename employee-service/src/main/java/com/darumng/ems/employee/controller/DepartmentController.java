@@ -1,8 +1,12 @@
 package com.darumng.ems.employee.controller;
 
 import com.darumng.ems.employee.dto.ApiResponse;
+import com.darumng.ems.employee.dto.CursorPage;
+import com.darumng.ems.employee.dto.DepartmentPatchRequest;
 import com.darumng.ems.employee.dto.DepartmentRequest;
 import com.darumng.ems.employee.dto.DepartmentResponse;
+import com.darumng.ems.employee.dto.DepartmentStats;
+import com.darumng.ems.employee.service.DepartmentHeadcountService;
 import com.darumng.ems.employee.service.DepartmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -10,14 +14,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/departments")
 @RequiredArgsConstructor
 @Slf4j
@@ -26,6 +36,7 @@ import java.util.List;
 class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final DepartmentHeadcountService headcountService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -45,19 +56,116 @@ class DepartmentController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
-    @Operation(summary = "Get all departments", description = "Get all departments")
-    public ResponseEntity<ApiResponse<List<DepartmentResponse>>> getAllDepartments() {
-        List<DepartmentResponse> departments = departmentService.getAllDepartments();
-        return ResponseEntity.ok(ApiResponse.success(departments));
+    @Operation(summary = "Get all departments", description = "Get departments a page at a time, following nextCursor")
+    public ResponseEntity<ApiResponse<CursorPage<DepartmentResponse>>> getAllDepartments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        try {
+            String etag = departmentService.getDepartmentsETag();
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+            }
+
+            CursorPage<DepartmentResponse> departments = departmentService.getDepartmentsPage(cursor, size, etag);
+            return ResponseEntity.ok()
+                    .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(ApiResponse.success(departments));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Get all departments (sparse)", description = "Same pages with only the listed fields, e.g. fields=id,name")
+    public ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>> getAllDepartmentFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        try {
+            String etag = departmentService.getDepartmentsETag();
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+            }
+
+            CursorPage<Map<String, Object>> departments = departmentService.getDepartmentFieldsPage(cursor, size, fields);
+            return ResponseEntity.ok()
+                    .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(ApiResponse.success(departments));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get headcount stats", description = "Employee counts by status for every department (Admin/Manager)")
+    public ResponseEntity<ApiResponse<List<DepartmentStats>>> getAllStats() {
+        return ResponseEntity.ok(ApiResponse.success(headcountService.getAllStats()));
+    }
+
+    @GetMapping("/{id}/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get department headcount stats", description = "Employee counts by status for one department (Admin/Manager)")
+    public ResponseEntity<ApiResponse<DepartmentStats>> getStats(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(headcountService.getStats(id)));
+        } catch (Exception e) {
+            log.error("Failed to get department stats", e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
     @Operation(summary = "Get department by ID", description = "Get department details")
-    public ResponseEntity<ApiResponse<DepartmentResponse>> getDepartmentById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<DepartmentResponse>> getDepartmentById(@PathVariable Long id,
+                                                                             WebRequest request) {
+        try {
+            String etag = departmentService.getDepartmentETag(id);
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+            }
+
+            DepartmentResponse department = departmentService.getDepartmentById(id, etag);
+            return ResponseEntity.ok()
+                    .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(ApiResponse.success(department));
+        } catch (Exception e) {
+            log.error("Failed to get department", e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Get department by ID (sparse)", description = "Get only the listed fields of a department")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDepartmentFieldsById(@PathVariable Long id,
+                                                                                    @RequestParam String fields,
+                                                                                    WebRequest request) {
         try {
-            DepartmentResponse department = departmentService.getDepartmentById(id);
-            return ResponseEntity.ok(ApiResponse.success(department));
+            String etag = departmentService.getDepartmentETag(id);
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+            }
+
+            Map<String, Object> department = departmentService.getDepartmentFieldsById(id, fields);
+            return ResponseEntity.ok()
+                    .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(ApiResponse.success(department));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("Failed to get department", e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -74,6 +182,9 @@ class DepartmentController {
         try {
             DepartmentResponse response = departmentService.updateDepartment(id, request);
             return ResponseEntity.ok(ApiResponse.success("Department updated successfully", response));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Department was modified by someone else; reload and retry"));
         } catch (Exception e) {
             log.error("Failed to update department", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -81,6 +192,26 @@ class DepartmentController {
         }
     }
 
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Patch department",
+            description = "Update only the given fields; fails with 409 if the version is stale (Admin only)")
+    public ResponseEntity<ApiResponse<DepartmentResponse>> patchDepartment(
+            @PathVariable Long id,
+            @Valid @RequestBody DepartmentPatchRequest request) {
+        try {
+            DepartmentResponse response = departmentService.patchDepartment(id, request);
+            return ResponseEntity.ok(ApiResponse.success("Department updated successfully", response));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to patch department", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete department", description = "Delete a department (Admin only)")
@@ -2,22 +2,32 @@
 package com.darumng.ems.employee.controller;
 
 import com.darumng.ems.employee.dto.*;
+import com.darumng.ems.employee.service.ChangeFeedService;
 import com.darumng.ems.employee.service.EmployeeService;
+import com.darumng.ems.employee.service.OrgChartService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 @RequiredArgsConstructor
 @Slf4j
@@ -26,6 +36,8 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final OrgChartService orgChartService;
+    private final ChangeFeedService changeFeedService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -43,12 +55,169 @@ public class EmployeeController {
         }
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk create employees", description = "Create many employees at once with per-row results (Admin only)")
+    public ResponseEntity<ApiResponse<BulkEmployeeResponse>> bulkCreateEmployees(
+            @Valid @RequestBody BulkEmployeeRequest request) {
+        try {
+            BulkEmployeeResponse response = employeeService.bulkCreateEmployees(request.getEmployees());
+            return ResponseEntity.ok(ApiResponse.success(
+                    "Created " + response.getCreated() + " of " + response.getTotal() + " employees", response));
+        } catch (Exception e) {
+            log.error("Failed to bulk create employees", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/bulk/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk change status", description = "Set the status of every employee matching a filter (Admin only)")
+    public ResponseEntity<ApiResponse<BulkUpdateResponse>> bulkChangeStatus(
+            @Valid @RequestBody BulkStatusChangeRequest request) {
+        try {
+            BulkUpdateResponse response = employeeService.bulkChangeStatus(request);
+            return ResponseEntity.ok(ApiResponse.success("Updated " + response.getAffected() + " employees", response));
+        } catch (Exception e) {
+            log.error("Failed to bulk change employee status", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/bulk/department")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk move department", description = "Move every employee matching a filter to another department (Admin only)")
+    public ResponseEntity<ApiResponse<BulkUpdateResponse>> bulkMoveDepartment(
+            @Valid @RequestBody BulkDepartmentMoveRequest request) {
+        try {
+            BulkUpdateResponse response = employeeService.bulkMoveDepartment(request);
+            return ResponseEntity.ok(ApiResponse.success("Moved " + response.getAffected() + " employees", response));
+        } catch (Exception e) {
+            log.error("Failed to bulk move employees", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    @Operation(summary = "Get all employees", description = "Get all employees (Admin/Manager)")
-    public ResponseEntity<ApiResponse<List<EmployeeResponse>>> getAllEmployees() {
-        List<EmployeeResponse> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(ApiResponse.success(employees));
+    @Operation(summary = "Get all employees", description = "Get employees a page at a time, following nextCursor (Admin/Manager)")
+    public ResponseEntity<ApiResponse<CursorPage<EmployeeResponse>>> getAllEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<EmployeeResponse> employees = employeeService.getEmployeesPage(cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(employees));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get all employees (sparse)",
+            description = "Same pages with only the listed fields, e.g. fields=employeeId,firstName,lastName,email (Admin/Manager)")
+    public ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>> getAllEmployeeFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Map<String, Object>> employees = employeeService.getEmployeeFieldsPage(cursor, size, fields);
+            return ResponseEntity.ok(ApiResponse.success(employees));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Export employees", description = "Stream the employee directory as newline-delimited JSON (Admin/Manager)")
+    public void exportEmployees(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long departmentId,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        try {
+            employeeService.exportEmployees(status, departmentId, response.getOutputStream());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        }
+    }
+
+    @GetMapping("/query")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Query employees",
+            description = "Filter by status, department, created/updated ranges and name prefix, with sorting; "
+                    + "pass nextCursor back as cursor, with the same sort, for the next page (Admin/Manager)")
+    public ResponseEntity<ApiResponse<CursorPage<EmployeeResponse>>> queryEmployees(EmployeeQuery query) {
+        try {
+            CursorPage<EmployeeResponse> page = employeeService.queryEmployees(query);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Search employees", description = "Prefix search on first name, last name and email (Admin/Manager)")
+    public ResponseEntity<ApiResponse<List<EmployeeResponse>>> searchEmployees(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<EmployeeResponse> employees = employeeService.searchEmployees(q, limit);
+            return ResponseEntity.ok(ApiResponse.success(employees));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/lookup")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Look up employees by id",
+            description = "Resolve a list of ids in one call, reporting missing and forbidden ids")
+    public ResponseEntity<ApiResponse<EmployeeLookupResponse>> lookupEmployees(
+            @Valid @RequestBody EmployeeLookupRequest request,
+            Authentication authentication) {
+        return lookup(request.getIds(), authentication);
+    }
+
+    @GetMapping("/lookup")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Look up employees by id",
+            description = "Same as POST /lookup with ids=1,2,3; use POST for long lists")
+    public ResponseEntity<ApiResponse<EmployeeLookupResponse>> lookupEmployeesByQuery(
+            @RequestParam List<Long> ids,
+            Authentication authentication) {
+        return lookup(ids, authentication);
+    }
+
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get changes",
+            description = "Employees and departments created, updated or deleted after the since token (Admin/Manager)")
+    public ResponseEntity<ApiResponse<ChangeFeedPage>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(changeFeedService.getChanges(since, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -56,21 +225,62 @@ public class EmployeeController {
     @Operation(summary = "Get employee by ID", description = "Get employee details")
     public ResponseEntity<ApiResponse<EmployeeResponse>> getEmployeeById(
             @PathVariable Long id,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest request) {
         try {
+            EmployeeVersion version = employeeService.getEmployeeVersion(id);
+
+            if (!canView(version, authentication)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.error("You can only view your own details"));
+            }
+
+            // Answered from the version row alone; the full response is only built on a miss
+            String etag = version.toETag();
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+            }
+
             EmployeeResponse employee = employeeService.getEmployeeById(id);
+            return ResponseEntity.ok()
+                    .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(ApiResponse.success(employee));
+        } catch (Exception e) {
+            log.error("Failed to get employee", e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
 
-            // Employees can only view their own details
-            if (authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE"))) {
-                String userEmail = authentication.getName();
-                if (!employee.getEmail().equals(userEmail)) {
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                            .body(ApiResponse.error("You can only view your own details"));
-                }
+    @GetMapping(value = "/{id}", params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Get employee by ID (sparse)", description = "Get only the listed fields of an employee")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getEmployeeFieldsById(
+            @PathVariable Long id,
+            @RequestParam String fields,
+            Authentication authentication,
+            WebRequest request) {
+        try {
+            EmployeeVersion version = employeeService.getEmployeeVersion(id);
+            if (!canView(version, authentication)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.error("You can only view your own details"));
             }
 
-            return ResponseEntity.ok(ApiResponse.success(employee));
+            String etag = version.toETag();
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+            }
+
+            Map<String, Object> employee = employeeService.getEmployeeFieldsById(id, fields);
+            return ResponseEntity.ok()
+                    .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(ApiResponse.success(employee));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("Failed to get employee", e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -78,6 +288,50 @@ public class EmployeeController {
         }
     }
 
+    @GetMapping("/{id}/reporting-chain")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get reporting chain", description = "Managers above an employee, nearest first (Admin/Manager)")
+    public ResponseEntity<ApiResponse<List<EmployeeResponse>>> getReportingChain(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(orgChartService.getReportingChain(id)));
+        } catch (Exception e) {
+            log.error("Failed to get reporting chain", e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/subtree")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get manager subtree", description = "Everyone reporting to a manager directly or indirectly, by id (Admin/Manager)")
+    public ResponseEntity<ApiResponse<List<EmployeeResponse>>> getSubtree(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(orgChartService.getSubtree(id, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to get subtree", e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/subtree/headcount")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get subtree headcount", description = "Number of employees below a manager (Admin/Manager)")
+    public ResponseEntity<ApiResponse<Long>> getSubtreeHeadcount(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(orgChartService.getSubtreeHeadcount(id)));
+        } catch (Exception e) {
+            log.error("Failed to get subtree headcount", e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/department/{departmentId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Get employees by department", description = "Get all employees in a department")
@@ -96,6 +350,9 @@ public class EmployeeController {
         try {
             EmployeeResponse response = employeeService.updateEmployee(id, request);
             return ResponseEntity.ok(ApiResponse.success("Employee updated successfully", response));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Employee was modified by someone else; reload and retry"));
         } catch (Exception e) {
             log.error("Failed to update employee", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -103,6 +360,26 @@ public class EmployeeController {
         }
     }
 
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Patch employee",
+            description = "Update only the given fields; fails with 409 if the version is stale (Admin only)")
+    public ResponseEntity<ApiResponse<EmployeeResponse>> patchEmployee(
+            @PathVariable Long id,
+            @Valid @RequestBody EmployeePatchRequest request) {
+        try {
+            EmployeeResponse response = employeeService.patchEmployee(id, request);
+            return ResponseEntity.ok(ApiResponse.success("Employee updated successfully", response));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to patch employee", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete employee", description = "Delete an employee (Admin only)")
@@ -116,5 +393,22 @@ public class EmployeeController {
                     .body(ApiResponse.error(e.getMessage()));
         }
     }
-}
 
+    // Employees can only view their own details
+    private static boolean canView(EmployeeVersion version, Authentication authentication) {
+        return authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE"))
+                || version.getEmail().equals(authentication.getName());
+    }
+
+    private ResponseEntity<ApiResponse<EmployeeLookupResponse>> lookup(List<Long> ids, Authentication authentication) {
+        // Employees can only view their own details
+        String restrictToEmail = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE")) ? authentication.getName() : null;
+        try {
+            return ResponseEntity.ok(ApiResponse.success(employeeService.lookupEmployees(ids, restrictToEmail)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
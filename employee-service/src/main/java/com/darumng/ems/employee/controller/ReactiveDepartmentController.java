@@ -0,0 +1,76 @@
+package com.darumng.ems.employee.controller;
+
+import com.darumng.ems.employee.dto.ApiResponse;
+import com.darumng.ems.employee.dto.CursorPage;
+import com.darumng.ems.employee.dto.DepartmentResponse;
+import com.darumng.ems.employee.service.ReactiveDepartmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read endpoints of {@link DepartmentController} on WebFlux and R2DBC, active under the
+ * "reactive" profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/departments")
+@RequiredArgsConstructor
+@Slf4j
+class ReactiveDepartmentController {
+
+    private final ReactiveDepartmentService departmentService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public Mono<ResponseEntity<ApiResponse<CursorPage<DepartmentResponse>>>> getAllDepartments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            ServerWebExchange exchange) {
+        return departmentService.getDepartmentsETag()
+                .flatMap(etag -> {
+                    if (exchange.checkNotModified(etag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                                .<ApiResponse<CursorPage<DepartmentResponse>>>build());
+                    }
+                    return departmentService.getDepartmentsPage(cursor, size)
+                            .map(departments -> ResponseEntity.ok()
+                                    .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                                    .body(ApiResponse.success(departments)));
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()))));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public Mono<ResponseEntity<ApiResponse<DepartmentResponse>>> getDepartmentById(
+            @PathVariable Long id,
+            ServerWebExchange exchange) {
+        return departmentService.getDepartmentETag(id)
+                .flatMap(etag -> {
+                    if (exchange.checkNotModified(etag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                                .<ApiResponse<DepartmentResponse>>build());
+                    }
+                    return departmentService.getDepartmentById(id)
+                            .map(department -> ResponseEntity.ok()
+                                    .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                                    .body(ApiResponse.success(department)));
+                })
+                .onErrorResume(e -> {
+                    log.error("Failed to get department", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(ApiResponse.error(e.getMessage())));
+                });
+    }
+}
@@ -0,0 +1,89 @@
+package com.darumng.ems.employee.controller;
+
+import com.darumng.ems.employee.dto.ApiResponse;
+import com.darumng.ems.employee.dto.CursorPage;
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.service.ReactiveEmployeeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Read endpoints of {@link EmployeeController} on WebFlux and R2DBC, active under the
+ * "reactive" profile. Same paths, roles, ETags and response bodies; writes, export, search
+ * and org-chart queries are only served by the servlet deployment.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/employees")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public Mono<ResponseEntity<ApiResponse<CursorPage<EmployeeResponse>>>> getAllEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return employeeService.getEmployeesPage(cursor, size)
+                .map(employees -> ResponseEntity.ok(ApiResponse.success(employees)))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()))));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public Mono<ResponseEntity<ApiResponse<EmployeeResponse>>> getEmployeeById(
+            @PathVariable Long id,
+            Authentication authentication,
+            ServerWebExchange exchange) {
+        return employeeService.getEmployeeVersion(id)
+                .flatMap(version -> {
+                    // Employees can only view their own details
+                    if (authentication.getAuthorities().stream()
+                            .anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE"))
+                            && !version.getEmail().equals(authentication.getName())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN)
+                                .body(ApiResponse.<EmployeeResponse>error("You can only view your own details")));
+                    }
+
+                    String etag = version.toETag();
+                    if (exchange.checkNotModified(etag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                                .<ApiResponse<EmployeeResponse>>build());
+                    }
+
+                    return employeeService.getEmployeeById(id)
+                            .map(employee -> ResponseEntity.ok()
+                                    .eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                                    .body(ApiResponse.success(employee)));
+                })
+                .onErrorResume(e -> {
+                    log.error("Failed to get employee", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(ApiResponse.error(e.getMessage())));
+                });
+    }
+
+    @GetMapping("/department/{departmentId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public Mono<ResponseEntity<ApiResponse<List<EmployeeResponse>>>> getEmployeesByDepartment(
+            @PathVariable Long departmentId) {
+        return employeeService.getEmployeesByDepartment(departmentId)
+                .collectList()
+                .map(employees -> ResponseEntity.ok(ApiResponse.success(employees)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.darumng.ems.employee.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDepartmentMoveRequest {
+
+    @NotNull(message = "Filter is required")
+    private EmployeeFilter filter;
+
+    @NotNull(message = "Target department is required")
+    private Long departmentId;
+}
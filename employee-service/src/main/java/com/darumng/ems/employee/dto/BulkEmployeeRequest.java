@@ -0,0 +1,20 @@
+package com.darumng.ems.employee.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEmployeeRequest {
+
+    // Rows are validated one by one so a bad row fails alone, not the whole request
+    @NotEmpty(message = "At least one employee is required")
+    private List<EmployeeRequest> employees;
+}
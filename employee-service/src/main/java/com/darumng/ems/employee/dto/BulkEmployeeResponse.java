@@ -0,0 +1,19 @@
+package com.darumng.ems.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEmployeeResponse {
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkEmployeeResult> results;
+}
@@ -0,0 +1,18 @@
+package com.darumng.ems.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEmployeeResult {
+    private int index;
+    private boolean success;
+    private Long employeeId;
+    private String email;
+    private String error;
+}
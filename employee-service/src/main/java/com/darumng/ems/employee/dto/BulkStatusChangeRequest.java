@@ -0,0 +1,21 @@
+package com.darumng.ems.employee.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeRequest {
+
+    @NotNull(message = "Filter is required")
+    private EmployeeFilter filter;
+
+    @NotBlank(message = "Status is required")
+    private String status; // ACTIVE, INACTIVE, ON_LEAVE, TERMINATED
+}
@@ -0,0 +1,26 @@
+package com.darumng.ems.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the change feed. Pass {@code nextToken} as {@code since} on the next call;
+ * while {@code hasMore} is true there are further changes to fetch straight away.
+ * Departments carry their own fields only; manager name and headcount are left out.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedPage {
+    private List<EmployeeResponse> employees;
+    private List<DepartmentResponse> departments;
+    private List<Long> deletedEmployeeIds;
+    private List<Long> deletedDepartmentIds;
+    private String nextToken;
+    private boolean hasMore;
+}
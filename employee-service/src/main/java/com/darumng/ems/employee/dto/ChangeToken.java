@@ -0,0 +1,52 @@
+package com.darumng.ems.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in the change feed: the (changedAt, kind, id) of the last change a
+ * client has seen. Changes are totally ordered by that triple, so tokens only move forward.
+ * syncStartedAt is when the client's first, token-less call was made; it holds nothing
+ * older, so no delete before then can be missing from its copy.
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeToken {
+    private final LocalDateTime changedAt;
+    private final int kind;
+    private final Long id;
+    private final LocalDateTime syncStartedAt;
+
+    /**
+     * The oldest delete the client could still be missing; tombstones from before it are
+     * no longer needed for this client.
+     */
+    public LocalDateTime safeSince() {
+        return changedAt.isAfter(syncStartedAt) ? changedAt : syncStartedAt;
+    }
+
+    public String encode() {
+        String raw = changedAt + "|" + kind + "|" + id + "|" + syncStartedAt;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            return new ChangeToken(
+                    LocalDateTime.parse(parts[0]),
+                    Integer.parseInt(parts[1]),
+                    Long.parseLong(parts[2]),
+                    LocalDateTime.parse(parts[3]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid change token");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.darumng.ems.employee.dto;
+
+/**
+ * A keyset position that {@link CursorPage} hands to clients as an opaque string.
+ */
+public interface Cursor {
+
+    String encode();
+}
@@ -0,0 +1,29 @@
+package com.darumng.ems.employee.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partial department update. Only non-null fields are written; {@code version} must be
+ * the version last read, otherwise the update is rejected as a conflict.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentPatchRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "Department name must not be blank")
+    private String name;
+
+    private String description;
+
+    private Long managerId;
+
+    @NotNull(message = "Version is required")
+    private Long version;
+}
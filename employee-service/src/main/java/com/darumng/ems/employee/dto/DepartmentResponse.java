@@ -17,7 +17,8 @@ public class DepartmentResponse {
     private String description;
     private Long managerId;
     private String managerName;
-    private Integer employeeCount;
+    private Long employeeCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,19 @@
+package com.darumng.ems.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentStats {
+    private Long departmentId;
+    private String departmentName;
+    private long total;
+    private Map<String, Long> byStatus;
+}
@@ -0,0 +1,19 @@
+package com.darumng.ems.employee.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLookupRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    private List<Long> ids;
+}
@@ -0,0 +1,23 @@
+package com.darumng.ems.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of resolving a list of ids. Every distinct requested id ends up in exactly one
+ * list, in request order: found, missing (no such employee) or forbidden (exists, but
+ * the caller may not view it).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLookupResponse {
+    private List<EmployeeResponse> employees;
+    private List<Long> missingIds;
+    private List<Long> forbiddenIds;
+}
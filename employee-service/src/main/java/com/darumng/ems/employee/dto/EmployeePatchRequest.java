@@ -0,0 +1,32 @@
+package com.darumng.ems.employee.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * Partial employee update. Only non-null fields are written; {@code version} must be
+ * the version last read, otherwise the update is rejected as a conflict.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePatchRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "First name must not be blank")
+    private String firstName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Last name must not be blank")
+    private String lastName;
+
+    @Email(message = "Email must be valid")
+    @Pattern(regexp = ".*\\S.*", message = "Email must not be blank")
+    private String email;
+
+    private Long departmentId;
+
+    private String status; // ACTIVE, INACTIVE, ON_LEAVE, TERMINATED
+
+    @NotNull(message = "Version is required")
+    private Long version;
+}
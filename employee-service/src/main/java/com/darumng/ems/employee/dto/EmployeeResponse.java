@@ -1,5 +1,7 @@
 package com.darumng.ems.employee.dto;
 
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,4 +22,31 @@ public class EmployeeResponse {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
+
+    // Target of the flat "SELECT new" projections in EmployeeRepository
+    public EmployeeResponse(Long employeeId, String firstName, String lastName, String email,
+                            Long departmentId, String departmentName, EmployeeStatus status,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.employeeId = employeeId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.department = departmentId == null ? null : new DepartmentInfo(departmentId, departmentName);
+        this.status = status.name();
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    // Flat copies of department, so fields=departmentId,departmentName returns a subset of this response
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Long getDepartmentId() {
+        return department == null ? null : department.getId();
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getDepartmentName() {
+        return department == null ? null : department.getName();
+    }
 }
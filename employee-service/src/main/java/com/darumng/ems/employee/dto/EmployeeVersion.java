@@ -0,0 +1,28 @@
+package com.darumng.ems.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Enough of an employee to answer a conditional GET: the email for the ownership check
+ * and the versions of the two rows an EmployeeResponse is built from.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeVersion {
+    private Long employeeId;
+    private String email;
+    private Long version;
+    private Long departmentVersion;
+
+    /**
+     * Strong ETag that changes whenever the employee or their department's name does.
+     */
+    public String toETag() {
+        return "\"" + employeeId + "-" + version + "-" + (departmentVersion == null ? "" : departmentVersion) + "\"";
+    }
+}
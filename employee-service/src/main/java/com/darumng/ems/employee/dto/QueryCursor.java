@@ -0,0 +1,41 @@
+package com.darumng.ems.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for employee queries: the sort it was issued for, and the sort
+ * value and employeeId of the last row of a page. The value goes last, so a '|' in a name
+ * or email cannot shift the other fields.
+ */
+@Getter
+@AllArgsConstructor
+public class QueryCursor implements Cursor {
+    private final String sort;
+    private final boolean descending;
+    private final Long employeeId;
+    private final String value;
+
+    @Override
+    public String encode() {
+        String raw = sort + "|" + (descending ? "desc" : "asc") + "|" + employeeId + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static QueryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (!parts[1].equals("asc") && !parts[1].equals("desc")) {
+                throw new IllegalArgumentException();
+            }
+            return new QueryCursor(parts[0], parts[1].equals("desc"), Long.parseLong(parts[2]), parts[3]);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
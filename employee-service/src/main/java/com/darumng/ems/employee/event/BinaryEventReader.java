@@ -0,0 +1,54 @@
+package com.darumng.ems.employee.event;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads what {@link BinaryEventWriter} wrote.
+ */
+final class BinaryEventReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    BinaryEventReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    int readByte() {
+        if (position >= buffer.length) {
+            throw new IllegalArgumentException("Truncated event payload");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    long readLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    String readString() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int size = (int) (length - 1);
+        if (size < 0 || position + size > buffer.length) {
+            throw new IllegalArgumentException("Truncated event payload");
+        }
+        String value = new String(buffer, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return value;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in event payload");
+    }
+}
@@ -0,0 +1,26 @@
+package com.darumng.ems.employee.event;
+
+import com.darumng.ems.employee.entity.Department;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Payload of the department-events topic; JSON field names match the original map-based events.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DepartmentEvent(
+        EventType eventType,
+        Long departmentId,
+        String name,
+        String description,
+        long timestamp) {
+
+    public static DepartmentEvent of(EventType eventType, Department department) {
+        return new DepartmentEvent(eventType, department.getId(), department.getName(),
+                department.getDescription(), System.currentTimeMillis());
+    }
+
+    public static DepartmentEvent deleted(Long departmentId) {
+        return new DepartmentEvent(EventType.DEPARTMENT_DELETED, departmentId, null, null,
+                System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,31 @@
+package com.darumng.ems.employee.event;
+
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Payload of the employee-events topic. The JSON form keeps the field names of the
+ * original map-based events, so existing consumers read it unchanged.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeEvent(
+        EventType eventType,
+        Long employeeId,
+        String email,
+        String firstName,
+        String lastName,
+        EmployeeStatus status,
+        long timestamp) {
+
+    public static EmployeeEvent of(EventType eventType, Employee employee) {
+        return new EmployeeEvent(eventType, employee.getEmployeeId(), employee.getEmail(),
+                employee.getFirstName(), employee.getLastName(), employee.getStatus(),
+                System.currentTimeMillis());
+    }
+
+    public static EmployeeEvent deleted(Long employeeId) {
+        return new EmployeeEvent(EventType.EMPLOYEE_DELETED, employeeId, null, null, null, null,
+                System.currentTimeMillis());
+    }
+}
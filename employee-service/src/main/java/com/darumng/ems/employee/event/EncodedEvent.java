@@ -0,0 +1,7 @@
+package com.darumng.ems.employee.event;
+
+/**
+ * An event ready for the wire, with the values of its Kafka headers.
+ */
+public record EncodedEvent(String contentType, String schemaId, byte[] payload) {
+}
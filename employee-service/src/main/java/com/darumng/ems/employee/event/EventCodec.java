@@ -0,0 +1,130 @@
+package com.darumng.ems.employee.event;
+
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Encodes events either as the compact binary format or, for consumers that have not
+ * moved yet, as the original JSON. Which one is written is chosen by
+ * {@code kafka.events.encoding} ({@code json} by default); decoding goes by the
+ * content type header, so both can be read during a rollout.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventCodec {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String SCHEMA_ID_HEADER = "ems-schema-id";
+
+    public static final String JSON_CONTENT_TYPE = "application/json";
+    public static final String BINARY_CONTENT_TYPE = "application/vnd.ems.event+binary";
+
+    public static final String EMPLOYEE_SCHEMA_ID = "employee-event.v1";
+    public static final String DEPARTMENT_SCHEMA_ID = "department-event.v1";
+
+    private static final int FORMAT_VERSION = 1;
+
+    // EmployeeStatus is written as ordinal + 1 (0 = null); statuses may only be appended
+    private static final EmployeeStatus[] STATUSES = EmployeeStatus.values();
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${kafka.events.encoding:json}")
+    private String encoding;
+
+    public EncodedEvent encode(EmployeeEvent event) {
+        if (!isBinary()) {
+            return json(EMPLOYEE_SCHEMA_ID, event);
+        }
+        byte[] payload = new BinaryEventWriter()
+                .writeByte(FORMAT_VERSION)
+                .writeByte(event.eventType().getCode())
+                .writeLong(event.employeeId())
+                .writeString(event.email())
+                .writeString(event.firstName())
+                .writeString(event.lastName())
+                .writeByte(event.status() == null ? 0 : event.status().ordinal() + 1)
+                .writeLong(event.timestamp())
+                .toByteArray();
+        return new EncodedEvent(BINARY_CONTENT_TYPE, EMPLOYEE_SCHEMA_ID, payload);
+    }
+
+    public EncodedEvent encode(DepartmentEvent event) {
+        if (!isBinary()) {
+            return json(DEPARTMENT_SCHEMA_ID, event);
+        }
+        byte[] payload = new BinaryEventWriter()
+                .writeByte(FORMAT_VERSION)
+                .writeByte(event.eventType().getCode())
+                .writeLong(event.departmentId())
+                .writeString(event.name())
+                .writeString(event.description())
+                .writeLong(event.timestamp())
+                .toByteArray();
+        return new EncodedEvent(BINARY_CONTENT_TYPE, DEPARTMENT_SCHEMA_ID, payload);
+    }
+
+    public EmployeeEvent decodeEmployeeEvent(String contentType, byte[] payload) {
+        if (!BINARY_CONTENT_TYPE.equals(contentType)) {
+            return fromJson(payload, EmployeeEvent.class);
+        }
+        BinaryEventReader reader = reader(payload);
+        EventType eventType = EventType.fromCode(reader.readByte());
+        long employeeId = reader.readLong();
+        String email = reader.readString();
+        String firstName = reader.readString();
+        String lastName = reader.readString();
+        int status = reader.readByte();
+        long timestamp = reader.readLong();
+        return new EmployeeEvent(eventType, employeeId, email, firstName, lastName,
+                status == 0 ? null : STATUSES[status - 1], timestamp);
+    }
+
+    public DepartmentEvent decodeDepartmentEvent(String contentType, byte[] payload) {
+        if (!BINARY_CONTENT_TYPE.equals(contentType)) {
+            return fromJson(payload, DepartmentEvent.class);
+        }
+        BinaryEventReader reader = reader(payload);
+        EventType eventType = EventType.fromCode(reader.readByte());
+        long departmentId = reader.readLong();
+        String name = reader.readString();
+        String description = reader.readString();
+        long timestamp = reader.readLong();
+        return new DepartmentEvent(eventType, departmentId, name, description, timestamp);
+    }
+
+    private boolean isBinary() {
+        return "binary".equalsIgnoreCase(encoding);
+    }
+
+    private EncodedEvent json(String schemaId, Object event) {
+        try {
+            return new EncodedEvent(JSON_CONTENT_TYPE, schemaId, objectMapper.writeValueAsBytes(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + schemaId, e);
+        }
+    }
+
+    private <T> T fromJson(byte[] payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName() + " payload", e);
+        }
+    }
+
+    private static BinaryEventReader reader(byte[] payload) {
+        BinaryEventReader reader = new BinaryEventReader(payload);
+        int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported event format version: " + version);
+        }
+        return reader;
+    }
+}
@@ -0,0 +1,41 @@
+package com.darumng.ems.employee.event;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Identifies this process as the writer of the events it queues, so its own listeners
+ * can tell them from other replicas' events. A new id per start is enough: a restarted
+ * node rebuilds its local state instead of relying on events it wrote before.
+ */
+@Component
+public class EventOrigin {
+
+    public static final String ORIGIN_HEADER = "ems-origin";
+    // "false" when the event cannot have moved anyone in the org chart
+    public static final String ORG_CHANGE_HEADER = "ems-org-change";
+
+    private final String id = UUID.randomUUID().toString();
+
+    public String id() {
+        return id;
+    }
+
+    public boolean isLocal(ConsumerRecord<?, ?> record) {
+        Header origin = record.headers().lastHeader(ORIGIN_HEADER);
+        return origin != null && id.equals(new String(origin.value(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * True unless the writer marked the event as leaving department membership and
+     * managers alone; events without the header are treated as changes.
+     */
+    public static boolean isOrgChange(ConsumerRecord<?, ?> record) {
+        Header orgChange = record.headers().lastHeader(ORG_CHANGE_HEADER);
+        return orgChange == null || !"false".equals(new String(orgChange.value(), StandardCharsets.UTF_8));
+    }
+}
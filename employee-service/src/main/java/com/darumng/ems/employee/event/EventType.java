@@ -0,0 +1,33 @@
+package com.darumng.ems.employee.event;
+
+/**
+ * Event types with their wire code in the binary encoding. Codes are part of the
+ * schema: never renumber or reuse one, only append.
+ */
+public enum EventType {
+    EMPLOYEE_CREATED(1),
+    EMPLOYEE_UPDATED(2),
+    EMPLOYEE_DELETED(3),
+    DEPARTMENT_CREATED(4),
+    DEPARTMENT_UPDATED(5),
+    DEPARTMENT_DELETED(6);
+
+    private final int code;
+
+    EventType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static EventType fromCode(int code) {
+        for (EventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown event type code: " + code);
+    }
+}
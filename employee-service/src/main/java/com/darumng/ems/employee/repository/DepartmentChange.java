@@ -0,0 +1,23 @@
+package com.darumng.ems.employee.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A department row as returned by the RETURNING clause of a targeted UPDATE:
+ * the new column values plus the manager it had before.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentChange {
+    private Long id;
+    private String name;
+    private String description;
+    private Long managerId;
+    private Long previousManagerId;
+    private Long version;
+}
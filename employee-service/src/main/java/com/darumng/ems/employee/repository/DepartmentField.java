@@ -0,0 +1,58 @@
+package com.darumng.ems.employee.repository;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Department fields a caller can ask for with {@code fields=}, named as in
+ * {@link com.darumng.ems.employee.dto.DepartmentResponse}, and the HQL each one selects.
+ * The manager join and the headcount subquery are only added when their field is asked for.
+ */
+public enum DepartmentField {
+    ID("id", "d.id"),
+    NAME("name", "d.name"),
+    DESCRIPTION("description", "d.description"),
+    MANAGER_ID("managerId", "d.managerId"),
+    MANAGER_NAME("managerName", "CASE WHEN m.employeeId IS NULL THEN NULL ELSE CONCAT(m.firstName, ' ', m.lastName) END"),
+    EMPLOYEE_COUNT("employeeCount", "(SELECT COUNT(x) FROM Employee x WHERE x.department = d)"),
+    CREATED_AT("createdAt", "d.createdAt"),
+    UPDATED_AT("updatedAt", "d.updatedAt"),
+    VERSION("version", "d.version");
+
+    private final String property;
+    private final String expression;
+
+    DepartmentField(String property, String expression) {
+        this.property = property;
+        this.expression = expression;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code id,name}.
+     */
+    public static Set<DepartmentField> parse(String fields) {
+        Set<DepartmentField> parsed = EnumSet.noneOf(DepartmentField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(Arrays.stream(values())
+                        .filter(f -> f.property.equals(trimmed))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown department field: " + trimmed)));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return parsed;
+    }
+}
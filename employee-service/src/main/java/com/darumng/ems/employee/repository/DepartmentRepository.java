@@ -1,13 +1,102 @@
 package com.darumng.ems.employee.repository;
 
+import com.darumng.ems.employee.dto.DepartmentInfo;
+import com.darumng.ems.employee.dto.DepartmentResponse;
 import com.darumng.ems.employee.entity.Department;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {
+public interface DepartmentRepository extends JpaRepository<Department, Long>, DepartmentRepositoryCustom {
+
+    // Department row, manager name and headcount in a single round trip
+    String SUMMARY_SELECT = "SELECT new com.darumng.ems.employee.dto.DepartmentResponse(" +
+            "d.id, d.name, d.description, d.managerId, " +
+            "CASE WHEN m.employeeId IS NULL THEN NULL ELSE CONCAT(m.firstName, ' ', m.lastName) END, " +
+            "COUNT(e), d.createdAt, d.updatedAt, d.version) " +
+            "FROM Department d " +
+            "LEFT JOIN Employee m ON m.employeeId = d.managerId " +
+            "LEFT JOIN Employee e ON e.department = d ";
+
+    String SUMMARY_GROUP_BY = "GROUP BY d.id, d.name, d.description, d.managerId, " +
+            "m.employeeId, m.firstName, m.lastName, d.createdAt, d.updatedAt, d.version ";
+
+    // Departments a manager runs directly or through managers below them; UNION drops
+    // departments already visited, so cyclic assignments terminate
+    String SUBTREE_CTE = "WITH RECURSIVE managed(department_id) AS (" +
+            "SELECT id FROM departments WHERE manager_id = :managerId " +
+            "UNION " +
+            "SELECT d.id FROM managed m " +
+            "JOIN employees e ON e.department_id = m.department_id " +
+            "JOIN departments d ON d.manager_id = e.employee_id) ";
+
+    // Everything a DepartmentResponse is built from: the department row, its manager's row
+    // (for the name) and its headcount. Hashed, it serves as the ETag for reads.
+    String VERSION_ROW = "concat_ws(':', d.id, d.version, COALESCE(m.version, -1), " +
+            "(SELECT COALESCE(SUM(h.headcount), 0) FROM department_headcounts h WHERE h.department_id = d.id))";
+
+    String VERSION_FROM = " FROM departments d LEFT JOIN employees m ON m.employee_id = d.manager_id ";
+
+    // ETag for the whole list. Every write that changes a DepartmentResponse bumps it:
+    // department rows, headcount totals, and the name or deletion of a manager.
+    String COLLECTION_VERSION_SQL = "SELECT version FROM collection_versions WHERE name = 'departments'";
+
+    String BUMP_COLLECTION_VERSION_SQL = "UPDATE collection_versions SET version = version + 1 WHERE name = 'departments'";
+
     Optional<Department> findByName(String name);
+
+    @Query("SELECT new com.darumng.ems.employee.dto.DepartmentInfo(d.id, d.name) FROM Department d WHERE d.id = :id")
+    Optional<DepartmentInfo> findInfoById(@Param("id") Long id);
+
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    boolean existsByNameAndIdNot(String name, Long id);
+
+    boolean existsByManagerId(Long managerId);
+
+    @Query(value = SUBTREE_CTE +
+            "SELECT e.employee_id FROM employees e JOIN managed m ON m.department_id = e.department_id " +
+            "WHERE e.employee_id <> :managerId ORDER BY e.employee_id LIMIT :limit", nativeQuery = true)
+    List<Long> findSubtreeEmployeeIds(@Param("managerId") Long managerId, @Param("limit") int limit);
+
+    @Query(value = SUBTREE_CTE +
+            "SELECT COUNT(*) FROM employees e JOIN managed m ON m.department_id = e.department_id " +
+            "WHERE e.employee_id <> :managerId", nativeQuery = true)
+    long countSubtreeEmployees(@Param("managerId") Long managerId);
+
+    @Query(value = "SELECT md5(" + VERSION_ROW + ")" + VERSION_FROM + "WHERE d.id = :id", nativeQuery = true)
+    Optional<String> findVersionById(@Param("id") Long id);
+
+    @Query(value = COLLECTION_VERSION_SQL, nativeQuery = true)
+    long findCollectionVersion();
+
+    @Modifying
+    @Query(value = BUMP_COLLECTION_VERSION_SQL, nativeQuery = true)
+    void bumpCollectionVersion();
+
+    @Query(SUMMARY_SELECT + "WHERE d.id = :id " + SUMMARY_GROUP_BY)
+    Optional<DepartmentResponse> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE d.id IN :ids " + SUMMARY_GROUP_BY)
+    List<DepartmentResponse> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + SUMMARY_GROUP_BY + "ORDER BY d.createdAt, d.id")
+    List<DepartmentResponse> findSummaryFirstPage(Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE d.createdAt >= :createdAt AND (d.createdAt > :createdAt OR d.id > :id) " +
+            SUMMARY_GROUP_BY +
+            "ORDER BY d.createdAt, d.id")
+    List<DepartmentResponse> findSummaryPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+}
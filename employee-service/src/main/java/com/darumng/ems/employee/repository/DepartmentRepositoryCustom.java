@@ -0,0 +1,24 @@
+package com.darumng.ems.employee.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface DepartmentRepositoryCustom {
+
+    /**
+     * Sets only the given columns of one department in one UPDATE, provided its version is
+     * still {@code expectedVersion}. Null arguments are left unchanged. Empty when the
+     * department does not exist or has been modified since that version was read.
+     */
+    Optional<DepartmentChange> patch(Long id, Long expectedVersion, String name, String description, Long managerId);
+
+    /**
+     * Keyset page of only the requested columns, in the same (createdAt, id) order as the
+     * summary pages. Pass a null position for the first page.
+     */
+    List<FieldRow> findFieldsPage(Set<DepartmentField> fields, LocalDateTime createdAt, Long id, int limit);
+
+    Optional<FieldRow> findFieldsById(Set<DepartmentField> fields, Long id);
+}
@@ -0,0 +1,128 @@
+package com.darumng.ems.employee.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class DepartmentRepositoryCustomImpl implements DepartmentRepositoryCustom {
+
+    // Self-join on the primary key exposes the pre-update manager to RETURNING
+    private static final String RETURNING =
+            " RETURNING d.id, d.name, d.description, d.manager_id, prev.manager_id, d.version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<DepartmentChange> patch(Long id, Long expectedVersion, String name, String description,
+                                            Long managerId) {
+        List<String> assignments = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (name != null) {
+            assignments.add("name = :name");
+            parameters.put("name", name);
+        }
+        if (description != null) {
+            assignments.add("description = :description");
+            parameters.put("description", description);
+        }
+        if (managerId != null) {
+            assignments.add("manager_id = :managerId");
+            parameters.put("managerId", managerId);
+        }
+        assignments.add("version = d.version + 1");
+        // JVM clock, as in Department's @PreUpdate: the change feed orders rows by updated_at
+        assignments.add("updated_at = :updatedAt");
+        parameters.put("updatedAt", LocalDateTime.now());
+        parameters.put("id", id);
+        parameters.put("expectedVersion", expectedVersion);
+
+        String sql = "UPDATE departments d SET " + String.join(", ", assignments) +
+                " FROM departments prev WHERE prev.id = d.id" +
+                " AND d.id = :id AND d.version = :expectedVersion" + RETURNING;
+
+        // Push pending changes out before the UPDATE so its row lock and RETURNING see them
+        entityManager.flush();
+        Query query = entityManager.createNativeQuery(sql);
+        parameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+
+        // The UPDATE bypassed the persistence context, so drop anything it may hold
+        entityManager.clear();
+
+        return rows.stream()
+                .findFirst()
+                .map(DepartmentRepositoryCustomImpl::toChange);
+    }
+
+    @Override
+    public List<FieldRow> findFieldsPage(Set<DepartmentField> fields, LocalDateTime createdAt, Long id, int limit) {
+        String where = createdAt == null ? ""
+                : "WHERE d.createdAt >= :createdAt AND (d.createdAt > :createdAt OR d.id > :id) ";
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                        fieldsSelect(fields) + where + "ORDER BY d.createdAt, d.id", Tuple.class)
+                .setMaxResults(limit);
+        if (createdAt != null) {
+            query.setParameter("createdAt", createdAt).setParameter("id", id);
+        }
+        return query.getResultList().stream()
+                .map(tuple -> toFieldRow(fields, tuple))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<FieldRow> findFieldsById(Set<DepartmentField> fields, Long id) {
+        return entityManager.createQuery(fieldsSelect(fields) + "WHERE d.id = :id", Tuple.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toFieldRow(fields, tuple));
+    }
+
+    // The keyset columns always come first; the requested ones follow in declaration order
+    private static String fieldsSelect(Set<DepartmentField> fields) {
+        StringBuilder hql = new StringBuilder("SELECT d.createdAt, d.id");
+        for (DepartmentField field : fields) {
+            hql.append(", ").append(field.getExpression());
+        }
+        hql.append(" FROM Department d ");
+        if (fields.contains(DepartmentField.MANAGER_NAME)) {
+            hql.append("LEFT JOIN Employee m ON m.employeeId = d.managerId ");
+        }
+        return hql.toString();
+    }
+
+    private static FieldRow toFieldRow(Set<DepartmentField> fields, Tuple tuple) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        int index = 2;
+        for (DepartmentField field : fields) {
+            values.put(field.getProperty(), tuple.get(index++));
+        }
+        return new FieldRow(values, (LocalDateTime) tuple.get(0), (Long) tuple.get(1));
+    }
+
+    private static DepartmentChange toChange(Object[] row) {
+        return DepartmentChange.builder()
+                .id(((Number) row[0]).longValue())
+                .name((String) row[1])
+                .description((String) row[2])
+                .managerId(row[3] == null ? null : ((Number) row[3]).longValue())
+                .previousManagerId(row[4] == null ? null : ((Number) row[4]).longValue())
+                .version(((Number) row[5]).longValue())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row touched by a set-based UPDATE, as returned by its RETURNING clause:
+ * the new column values plus the status and department it had before.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+    private Long employeeId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private EmployeeStatus status;
+    private Long departmentId;
+    private EmployeeStatus previousStatus;
+    private Long previousDepartmentId;
+    private Long version;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,59 @@
+package com.darumng.ems.employee.repository;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Employee fields a caller can ask for with {@code fields=}, named as in
+ * {@link com.darumng.ems.employee.dto.EmployeeResponse}, and the HQL each one selects.
+ * The department join is only added when the department name is asked for.
+ */
+public enum EmployeeField {
+    EMPLOYEE_ID("employeeId", "e.employeeId"),
+    FIRST_NAME("firstName", "e.firstName"),
+    LAST_NAME("lastName", "e.lastName"),
+    EMAIL("email", "e.email"),
+    DEPARTMENT_ID("departmentId", "e.department.id"),
+    DEPARTMENT_NAME("departmentName", "d.name"),
+    STATUS("status", "e.status"),
+    CREATED_AT("createdAt", "e.createdAt"),
+    UPDATED_AT("updatedAt", "e.updatedAt"),
+    VERSION("version", "e.version");
+
+    private final String property;
+    private final String expression;
+
+    EmployeeField(String property, String expression) {
+        this.property = property;
+        this.expression = expression;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code employeeId,firstName,email}.
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        Set<EmployeeField> parsed = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(Arrays.stream(values())
+                        .filter(f -> f.property.equals(trimmed))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown employee field: " + trimmed)));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return parsed;
+    }
+}
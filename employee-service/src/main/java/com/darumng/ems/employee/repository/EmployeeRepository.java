@@ -1,16 +1,85 @@
 package com.darumng.ems.employee.repository;
 
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.dto.EmployeeVersion;
 import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+    // Read-only DTO projection: one JOIN, no managed entities, no lazy department loads
+    String RESPONSE_SELECT = "SELECT new com.darumng.ems.employee.dto.EmployeeResponse(" +
+            "e.employeeId, e.firstName, e.lastName, e.email, d.id, d.name, " +
+            "e.status, e.createdAt, e.updatedAt, e.version) " +
+            "FROM Employee e LEFT JOIN e.department d ";
+
     Optional<Employee> findByEmail(String email);
     List<Employee> findByDepartmentId(Long departmentId);
     boolean existsByEmail(String email);
-}
+    boolean existsByEmailAndEmployeeIdNot(String email, Long employeeId);
+    boolean existsByDepartmentId(Long departmentId);
+
+    @Query(RESPONSE_SELECT + "WHERE e.employeeId = :id")
+    Optional<EmployeeResponse> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT new com.darumng.ems.employee.dto.EmployeeVersion(e.employeeId, e.email, e.version, d.version) " +
+            "FROM Employee e LEFT JOIN e.department d WHERE e.employeeId = :id")
+    Optional<EmployeeVersion> findVersionById(@Param("id") Long id);
+
+    @Query(RESPONSE_SELECT + "WHERE e.employeeId IN :ids")
+    List<EmployeeResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
 
+    @Query(RESPONSE_SELECT + "WHERE d.id = :departmentId ORDER BY e.employeeId")
+    List<EmployeeResponse> findResponsesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    // Managers above an employee, nearest first. An employee reports to the manager of their
+    // department; maxDepth bounds the walk in case manager assignments form a cycle.
+    @Query(value = "WITH RECURSIVE chain(employee_id, depth) AS (" +
+            "SELECT d.manager_id, 1 FROM employees e JOIN departments d ON d.id = e.department_id " +
+            "WHERE e.employee_id = :employeeId AND d.manager_id <> e.employee_id " +
+            "UNION ALL " +
+            "SELECT d.manager_id, c.depth + 1 FROM chain c " +
+            "JOIN employees e ON e.employee_id = c.employee_id " +
+            "JOIN departments d ON d.id = e.department_id " +
+            "WHERE d.manager_id <> e.employee_id AND c.depth < :maxDepth) " +
+            "SELECT employee_id FROM chain ORDER BY depth", nativeQuery = true)
+    List<Long> findReportingChainIds(@Param("employeeId") Long employeeId, @Param("maxDepth") int maxDepth);
+
+    // Keyset pages over idx_employees_created_at_id; callers pass a Pageable of size + 1.
+    // JPQL has no row-value comparison, so "after (createdAt, id)" is spelled out; the
+    // leading >= bound keeps it an index range scan.
+    @Query(RESPONSE_SELECT + "ORDER BY e.createdAt, e.employeeId")
+    List<EmployeeResponse> findResponseFirstPage(Pageable pageable);
+
+    @Query(RESPONSE_SELECT +
+            "WHERE e.createdAt >= :createdAt " +
+            "AND (e.createdAt > :createdAt OR e.employeeId > :employeeId) " +
+            "ORDER BY e.createdAt, e.employeeId")
+    List<EmployeeResponse> findResponsePageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("employeeId") Long employeeId,
+                                                 Pageable pageable);
+
+    // Forward-only cursor; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT +
+            "WHERE (:status IS NULL OR e.status = :status) " +
+            "AND (:departmentId IS NULL OR d.id = :departmentId) " +
+            "ORDER BY e.employeeId")
+    Stream<EmployeeResponse> streamForExport(@Param("status") EmployeeStatus status,
+                                     @Param("departmentId") Long departmentId);
+}
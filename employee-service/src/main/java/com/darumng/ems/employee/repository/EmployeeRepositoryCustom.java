@@ -0,0 +1,68 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Sets the status of every employee matching the filter in one UPDATE. Null filter
+     * arguments are ignored; employees already in {@code newStatus} are left untouched.
+     */
+    List<EmployeeChange> bulkUpdateStatus(Collection<Long> employeeIds, Long departmentId,
+                                          EmployeeStatus status, EmployeeStatus newStatus);
+
+    /**
+     * Moves every employee matching the filter to another department in one UPDATE. Null
+     * filter arguments are ignored; employees already in the department are left untouched.
+     */
+    List<EmployeeChange> bulkUpdateDepartment(Collection<Long> employeeIds, Long departmentId,
+                                              EmployeeStatus status, Long newDepartmentId);
+
+    /**
+     * Sets only the given columns of one employee in one UPDATE, provided its version is
+     * still {@code expectedVersion}. Null arguments are left unchanged. Empty when the
+     * employee does not exist or has been modified since that version was read.
+     */
+    Optional<EmployeeChange> patch(Long employeeId, Long expectedVersion, String firstName, String lastName,
+                                   String email, Long departmentId, EmployeeStatus status);
+
+    /**
+     * Projects the given employees in one {@code employee_id = ANY(array)} query. The ids
+     * travel as a single array parameter, so statement text and plan are the same for
+     * any list size. Unknown ids are skipped; rows come back in no particular order.
+     */
+    List<EmployeeResponse> findResponsesByIdArray(Collection<Long> ids);
+
+    /**
+     * Which of the given emails are taken, in one {@code email = ANY(array)} query. The
+     * emails are bound as a single array parameter, so any number fits in one statement.
+     */
+    List<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Runs a dynamic query built from the specification and projects each row straight
+     * into an {@link EmployeeResponse}, joining the department once. Returns at most
+     * {@code limit} rows; later pages are reached by adding a keyset predicate such as
+     * {@link EmployeeSpecifications#after} to the specification, never by offset.
+     */
+    List<EmployeeResponse> findResponses(Specification<Employee> specification, Sort sort, int limit);
+
+    /**
+     * Keyset page of only the requested columns, in the same (createdAt, employeeId) order
+     * as the full pages; the department is only joined when it is requested. Pass a null
+     * position for the first page.
+     */
+    List<FieldRow> findFieldsPage(Set<EmployeeField> fields, LocalDateTime createdAt, Long employeeId, int limit);
+
+    Optional<FieldRow> findFieldsById(Set<EmployeeField> fields, Long employeeId);
+}
@@ -0,0 +1,265 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.entity.Department;
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    // Self-join on the primary key exposes the pre-update row to RETURNING
+    private static final String RETURNING =
+            " RETURNING e.employee_id, e.email, e.first_name, e.last_name, e.status, e.department_id," +
+            " prev.status, prev.department_id, e.version, e.created_at, e.updated_at";
+
+    private static final String RESPONSE_SELECT =
+            "SELECT e.employee_id, e.first_name, e.last_name, e.email, d.id, d.name," +
+            " e.status, e.created_at, e.updated_at, e.version" +
+            " FROM employees e LEFT JOIN departments d ON d.id = e.department_id ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmployeeChange> bulkUpdateStatus(Collection<Long> employeeIds, Long departmentId,
+                                                 EmployeeStatus status, EmployeeStatus newStatus) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("newStatus", newStatus.name());
+        return executeUpdate("status = :newStatus", " AND e.status <> :newStatus",
+                employeeIds, departmentId, status, parameters);
+    }
+
+    @Override
+    public List<EmployeeChange> bulkUpdateDepartment(Collection<Long> employeeIds, Long departmentId,
+                                                     EmployeeStatus status, Long newDepartmentId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("newDepartmentId", newDepartmentId);
+        return executeUpdate("department_id = :newDepartmentId",
+                " AND (e.department_id IS NULL OR e.department_id <> :newDepartmentId)",
+                employeeIds, departmentId, status, parameters);
+    }
+
+    @Override
+    public Optional<EmployeeChange> patch(Long employeeId, Long expectedVersion, String firstName, String lastName,
+                                          String email, Long departmentId, EmployeeStatus status) {
+        List<String> assignments = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        assign(assignments, parameters, "first_name", "firstName", firstName);
+        assign(assignments, parameters, "last_name", "lastName", lastName);
+        assign(assignments, parameters, "email", "email", email);
+        assign(assignments, parameters, "department_id", "departmentId", departmentId);
+        assign(assignments, parameters, "status", "status", status == null ? null : status.name());
+
+        parameters.put("employeeId", employeeId);
+        parameters.put("expectedVersion", expectedVersion);
+        return update(String.join(", ", assignments),
+                " AND e.employee_id = :employeeId AND e.version = :expectedVersion", parameters)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        @SuppressWarnings("unchecked")
+        List<String> existing = entityManager.createNativeQuery(
+                        "SELECT e.email FROM employees e WHERE e.email = ANY(:emails)", String.class)
+                .setParameter("emails", emails.toArray(String[]::new))
+                .getResultList();
+        return existing;
+    }
+
+    @Override
+    public List<EmployeeResponse> findResponsesByIdArray(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Postgres array literal, e.g. {1,2,3}; ids are numbers, so nothing needs escaping
+        String array = ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(RESPONSE_SELECT +
+                        "WHERE e.employee_id = ANY(CAST(:ids AS bigint[]))")
+                .setParameter("ids", array)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new EmployeeResponse(
+                        ((Number) row[0]).longValue(),
+                        (String) row[1],
+                        (String) row[2],
+                        (String) row[3],
+                        row[4] == null ? null : ((Number) row[4]).longValue(),
+                        (String) row[5],
+                        EmployeeStatus.valueOf((String) row[6]),
+                        toLocalDateTime(row[7]),
+                        toLocalDateTime(row[8]),
+                        ((Number) row[9]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<EmployeeResponse> findResponses(Specification<Employee> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeResponse> query = cb.createQuery(EmployeeResponse.class);
+        Root<Employee> e = query.from(Employee.class);
+        Join<Employee, Department> d = e.join("department", JoinType.LEFT);
+
+        query.select(cb.construct(EmployeeResponse.class,
+                e.get("employeeId"), e.get("firstName"), e.get("lastName"), e.get("email"),
+                d.get("id"), d.get("name"), e.get("status"), e.get("createdAt"), e.get("updatedAt"),
+                e.get("version")));
+
+        Predicate predicate = specification == null ? null : specification.toPredicate(e, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, e, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<FieldRow> findFieldsPage(Set<EmployeeField> fields, LocalDateTime createdAt, Long employeeId,
+                                         int limit) {
+        String where = createdAt == null ? ""
+                : "WHERE e.createdAt >= :createdAt AND (e.createdAt > :createdAt OR e.employeeId > :employeeId) ";
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                        fieldsSelect(fields) + where + "ORDER BY e.createdAt, e.employeeId", Tuple.class)
+                .setMaxResults(limit);
+        if (createdAt != null) {
+            query.setParameter("createdAt", createdAt).setParameter("employeeId", employeeId);
+        }
+        return query.getResultList().stream()
+                .map(tuple -> toFieldRow(fields, tuple))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<FieldRow> findFieldsById(Set<EmployeeField> fields, Long employeeId) {
+        return entityManager.createQuery(fieldsSelect(fields) + "WHERE e.employeeId = :employeeId", Tuple.class)
+                .setParameter("employeeId", employeeId)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toFieldRow(fields, tuple));
+    }
+
+    // The keyset columns always come first; the requested ones follow in declaration order
+    private static String fieldsSelect(Set<EmployeeField> fields) {
+        StringBuilder hql = new StringBuilder("SELECT e.createdAt, e.employeeId");
+        for (EmployeeField field : fields) {
+            hql.append(", ").append(field.getExpression());
+        }
+        hql.append(" FROM Employee e ");
+        if (fields.contains(EmployeeField.DEPARTMENT_NAME)) {
+            hql.append("LEFT JOIN e.department d ");
+        }
+        return hql.toString();
+    }
+
+    private static FieldRow toFieldRow(Set<EmployeeField> fields, Tuple tuple) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        int index = 2;
+        for (EmployeeField field : fields) {
+            Object value = tuple.get(index++);
+            if (field == EmployeeField.STATUS) {
+                value = ((EmployeeStatus) value).name();
+            }
+            values.put(field.getProperty(), value);
+        }
+        return new FieldRow(values, (LocalDateTime) tuple.get(0), (Long) tuple.get(1));
+    }
+
+    // Rows that already hold the new value are skipped, so a no-op gets no version bump,
+    // event or change-feed entry
+    private List<EmployeeChange> executeUpdate(String assignment, String changed, Collection<Long> employeeIds,
+                                               Long departmentId, EmployeeStatus status,
+                                               Map<String, Object> parameters) {
+        StringBuilder conditions = new StringBuilder(changed);
+        if (employeeIds != null && !employeeIds.isEmpty()) {
+            conditions.append(" AND e.employee_id IN (:employeeIds)");
+            parameters.put("employeeIds", employeeIds);
+        }
+        if (departmentId != null) {
+            conditions.append(" AND e.department_id = :departmentId");
+            parameters.put("departmentId", departmentId);
+        }
+        if (status != null) {
+            conditions.append(" AND e.status = :status");
+            parameters.put("status", status.name());
+        }
+        return update(assignment, conditions.toString(), parameters);
+    }
+
+    // Every write here bumps the row version, so optimistic checks elsewhere see it. updated_at
+    // comes from the JVM clock, like the entities' @PreUpdate, because the change feed orders
+    // rows by it; the database's CURRENT_TIMESTAMP is the transaction start on another clock.
+    private List<EmployeeChange> update(String assignments, String conditions, Map<String, Object> parameters) {
+        parameters.put("updatedAt", LocalDateTime.now());
+        String sql = "UPDATE employees e SET " + assignments +
+                ", version = e.version + 1, updated_at = :updatedAt" +
+                " FROM employees prev WHERE prev.employee_id = e.employee_id" +
+                conditions + RETURNING;
+
+        // Push pending changes out before the UPDATE so its row locks and RETURNING see them
+        entityManager.flush();
+        Query query = entityManager.createNativeQuery(sql);
+        parameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+
+        // The UPDATE bypassed the persistence context, so drop anything it may hold
+        entityManager.clear();
+
+        return rows.stream()
+                .map(EmployeeRepositoryCustomImpl::toChange)
+                .collect(Collectors.toList());
+    }
+
+    private static EmployeeChange toChange(Object[] row) {
+        return EmployeeChange.builder()
+                .employeeId(((Number) row[0]).longValue())
+                .email((String) row[1])
+                .firstName((String) row[2])
+                .lastName((String) row[3])
+                .status(EmployeeStatus.valueOf((String) row[4]))
+                .departmentId(row[5] == null ? null : ((Number) row[5]).longValue())
+                .previousStatus(EmployeeStatus.valueOf((String) row[6]))
+                .previousDepartmentId(row[7] == null ? null : ((Number) row[7]).longValue())
+                .version(((Number) row[8]).longValue())
+                .createdAt(toLocalDateTime(row[9]))
+                .updatedAt(toLocalDateTime(row[10]))
+                .build();
+    }
+
+    private static void assign(List<String> assignments, Map<String, Object> parameters,
+                               String column, String parameter, Object value) {
+        if (value != null) {
+            assignments.add(column + " = :" + parameter);
+            parameters.put(parameter, value);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,94 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Building blocks for dynamic employee queries. Each returns null when its argument
+ * is absent, which {@link Specification#and} skips, so only supplied filters reach the SQL.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> hasStatus(EmployeeStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Employee> inDepartment(Long departmentId) {
+        return departmentId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("department").get("id"), departmentId);
+    }
+
+    public static Specification<Employee> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return between("createdAt", from, to);
+    }
+
+    public static Specification<Employee> updatedBetween(LocalDateTime from, LocalDateTime to) {
+        return between("updatedAt", from, to);
+    }
+
+    /**
+     * Case-insensitive prefix match on first or last name; matches the lower(...)
+     * text_pattern_ops indexes.
+     */
+    public static Specification<Employee> namePrefix(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = prefix.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("firstName")), pattern, '\\'),
+                cb.like(cb.lower(root.get("lastName")), pattern, '\\'));
+    }
+
+    /**
+     * Keyset position: rows after (value, employeeId) in an order on {@code attribute} that
+     * ends with employeeId. Written as {@code attr >= v AND (attr > v OR id > id0)} rather
+     * than a bare OR, so the leading bound still reaches an index on the attribute.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Employee> after(String attribute, Comparable value, Long employeeId,
+                                                boolean descending) {
+        if (employeeId == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("employeeId");
+            Predicate idAfter = descending ? cb.lessThan(id, employeeId) : cb.greaterThan(id, employeeId);
+            if (attribute.equals("employeeId")) {
+                return idAfter;
+            }
+            Path<Comparable> path = root.get(attribute);
+            return descending
+                    ? cb.and(cb.lessThanOrEqualTo(path, value), cb.or(cb.lessThan(path, value), idAfter))
+                    : cb.and(cb.greaterThanOrEqualTo(path, value), cb.or(cb.greaterThan(path, value), idAfter));
+        };
+    }
+
+    // Half-open range [from, to)
+    private static Specification<Employee> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThan(root.get(attribute), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), from);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(root.get(attribute), from), cb.lessThan(root.get(attribute), to));
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.darumng.ems.employee.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One row of a sparse-fieldset query: the requested fields by name, in the order they
+ * are declared, plus the (createdAt, id) keyset position whether requested or not.
+ */
+@Getter
+@AllArgsConstructor
+public class FieldRow {
+    private final Map<String, Object> values;
+    private final LocalDateTime createdAt;
+    private final Long id;
+}
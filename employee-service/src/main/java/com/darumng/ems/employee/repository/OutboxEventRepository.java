@@ -0,0 +1,25 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    String INSERT_SQL = "INSERT INTO outbox_events " +
+            "(topic, event_key, event_type, content_type, schema_id, payload, origin, org_change) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Transaction-scoped advisory lock: only one relay drains the outbox at a time,
+    // which is what keeps per-key order intact across replicas
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryLockRelay(@Param("lockKey") long lockKey);
+
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findNextBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,83 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.dto.DepartmentResponse;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC twin of the summary and version queries in {@link DepartmentRepository}.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveDepartmentRepository {
+
+    // Department row, manager name and headcount in a single round trip
+    private static final String SUMMARY_SELECT = "SELECT d.id, d.name, d.description, d.manager_id, " +
+            "CASE WHEN m.employee_id IS NULL THEN NULL ELSE m.first_name || ' ' || m.last_name END AS manager_name, " +
+            "(SELECT COUNT(*) FROM employees e WHERE e.department_id = d.id) AS employee_count, " +
+            "d.created_at, d.updated_at, d.version " +
+            "FROM departments d LEFT JOIN employees m ON m.employee_id = d.manager_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<DepartmentResponse> findSummaryById(Long id) {
+        return databaseClient.sql(SUMMARY_SELECT + "WHERE d.id = :id")
+                .bind("id", id)
+                .map(ReactiveDepartmentRepository::toResponse)
+                .one();
+    }
+
+    public Flux<DepartmentResponse> findSummaryFirstPage(int limit) {
+        return databaseClient.sql(SUMMARY_SELECT + "ORDER BY d.created_at, d.id LIMIT :limit")
+                .bind("limit", limit)
+                .map(ReactiveDepartmentRepository::toResponse)
+                .all();
+    }
+
+    public Flux<DepartmentResponse> findSummaryPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return databaseClient.sql(SUMMARY_SELECT +
+                        "WHERE (d.created_at, d.id) > (:createdAt, :id) " +
+                        "ORDER BY d.created_at, d.id LIMIT :limit")
+                .bind("createdAt", createdAt)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveDepartmentRepository::toResponse)
+                .all();
+    }
+
+    public Mono<String> findVersionById(Long id) {
+        return databaseClient.sql("SELECT md5(" + DepartmentRepository.VERSION_ROW + ") AS version" +
+                        DepartmentRepository.VERSION_FROM + "WHERE d.id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", String.class))
+                .one();
+    }
+
+    public Mono<Long> findCollectionVersion() {
+        return databaseClient.sql(DepartmentRepository.COLLECTION_VERSION_SQL)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    private static DepartmentResponse toResponse(Readable row) {
+        return DepartmentResponse.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .managerId(row.get("manager_id", Long.class))
+                .managerName(row.get("manager_name", String.class))
+                .employeeCount(row.get("employee_count", Long.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
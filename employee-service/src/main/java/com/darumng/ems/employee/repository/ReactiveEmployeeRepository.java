@@ -0,0 +1,90 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.dto.EmployeeVersion;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC twin of the read queries in {@link EmployeeRepository}: the same columns and
+ * keyset order, mapped straight into the shared DTOs.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveEmployeeRepository {
+
+    private static final String RESPONSE_SELECT = "SELECT e.employee_id, e.first_name, e.last_name, e.email, " +
+            "d.id AS department_id, d.name AS department_name, e.status, e.created_at, e.updated_at, e.version " +
+            "FROM employees e LEFT JOIN departments d ON d.id = e.department_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<EmployeeResponse> findResponseById(Long id) {
+        return databaseClient.sql(RESPONSE_SELECT + "WHERE e.employee_id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toResponse)
+                .one();
+    }
+
+    public Mono<EmployeeVersion> findVersionById(Long id) {
+        return databaseClient.sql("SELECT e.employee_id, e.email, e.version, d.version AS department_version " +
+                        "FROM employees e LEFT JOIN departments d ON d.id = e.department_id " +
+                        "WHERE e.employee_id = :id")
+                .bind("id", id)
+                .map(row -> new EmployeeVersion(
+                        row.get("employee_id", Long.class),
+                        row.get("email", String.class),
+                        row.get("version", Long.class),
+                        row.get("department_version", Long.class)))
+                .one();
+    }
+
+    public Flux<EmployeeResponse> findResponsesByDepartmentId(Long departmentId) {
+        return databaseClient.sql(RESPONSE_SELECT + "WHERE d.id = :departmentId ORDER BY e.employee_id")
+                .bind("departmentId", departmentId)
+                .map(ReactiveEmployeeRepository::toResponse)
+                .all();
+    }
+
+    // Keyset pages over idx_employees_created_at_id; callers ask for size + 1 rows
+    public Flux<EmployeeResponse> findResponseFirstPage(int limit) {
+        return databaseClient.sql(RESPONSE_SELECT + "ORDER BY e.created_at, e.employee_id LIMIT :limit")
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toResponse)
+                .all();
+    }
+
+    public Flux<EmployeeResponse> findResponsePageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return databaseClient.sql(RESPONSE_SELECT +
+                        "WHERE (e.created_at, e.employee_id) > (:createdAt, :id) " +
+                        "ORDER BY e.created_at, e.employee_id LIMIT :limit")
+                .bind("createdAt", createdAt)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toResponse)
+                .all();
+    }
+
+    private static EmployeeResponse toResponse(Readable row) {
+        return new EmployeeResponse(
+                row.get("employee_id", Long.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("email", String.class),
+                row.get("department_id", Long.class),
+                row.get("department_name", String.class),
+                EmployeeStatus.valueOf(row.get("status", String.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("version", Long.class));
+    }
+}
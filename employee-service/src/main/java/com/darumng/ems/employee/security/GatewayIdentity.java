@@ -0,0 +1,102 @@
+package com.darumng.ems.employee.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Verifies the X-User-Identity header the gateway attaches after checking the JWT, and
+ * signs this service's own for calls to auth-service:
+ * base64url("expiresEpochSecond|role,role|email") + "." + base64url(HMAC-SHA256).
+ * The MAC key is derived from the shared secret exactly as the gateway's IdentitySigner does.
+ */
+@Component
+@Slf4j
+public class GatewayIdentity {
+
+    public static final String HEADER = "X-User-Identity";
+
+    // Held only by service principals; auth-service reserves its internal endpoints for it
+    public static final String INTERNAL_ROLE = "ROLE_INTERNAL";
+
+    private static final Base64.Decoder BASE64 = Base64.getUrlDecoder();
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // Like the gateway's headers, one of ours only has to cover one call
+    private static final long INTERNAL_TTL_SECONDS = 30;
+
+    @Value("${gateway.identity.secret:${jwt.secret}}")
+    private String secret;
+
+    private Mac prototype;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        Mac kdf = Mac.getInstance("HmacSHA256");
+        kdf.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] key = kdf.doFinal("ems-gateway-identity".getBytes(StandardCharsets.UTF_8));
+
+        prototype = Mac.getInstance("HmacSHA256");
+        prototype.init(new SecretKeySpec(key, "HmacSHA256"));
+    }
+
+    /**
+     * The authentication the header carries, or null if it is malformed, forged or expired
+     */
+    public UsernamePasswordAuthenticationToken verify(String header) {
+        try {
+            int dot = header.indexOf('.');
+            if (dot < 0) {
+                return null;
+            }
+            byte[] payload = BASE64.decode(header.substring(0, dot));
+            byte[] signature = BASE64.decode(header.substring(dot + 1));
+            if (!MessageDigest.isEqual(mac().doFinal(payload), signature)) {
+                log.debug("Rejected identity header with a bad signature");
+                return null;
+            }
+
+            // The email goes last, so a '|' in it cannot shift the other fields
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\|", 3);
+            if (Long.parseLong(parts[0]) < Instant.now().getEpochSecond()) {
+                return null;
+            }
+            List<SimpleGrantedAuthority> authorities = parts[1].isEmpty() ? List.of()
+                    : Arrays.stream(parts[1].split(",")).map(SimpleGrantedAuthority::new).toList();
+            return new UsernamePasswordAuthenticationToken(parts[2], null, authorities);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Header value identifying this service to auth-service's internal endpoints
+     */
+    public String signInternal() {
+        long expires = Instant.now().getEpochSecond() + INTERNAL_TTL_SECONDS;
+        byte[] payload = (expires + "|" + INTERNAL_ROLE + "|employee-service").getBytes(StandardCharsets.UTF_8);
+        return BASE64_ENCODER.encodeToString(payload) + "." + BASE64_ENCODER.encodeToString(mac().doFinal(payload));
+    }
+
+    // Mac is not thread-safe; a clone of the initialised prototype skips key setup
+    private Mac mac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC provider does not support cloning", e);
+        }
+    }
+}
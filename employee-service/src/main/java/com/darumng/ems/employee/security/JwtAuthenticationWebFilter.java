@@ -0,0 +1,34 @@
+package com.darumng.ems.employee.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}: same token and header rules,
+ * but the authentication travels in the Reactor context instead of a thread-local.
+ * Deliberately not a bean: WebFlux would also add it to the global filter chain, and it
+ * only belongs inside the security chain (see {@link ReactiveSecurityConfig}).
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final RequestAuthenticator authenticator;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        Authentication authentication = authenticator.authenticate(
+                headers.getFirst(GatewayIdentity.HEADER), headers.getFirst(HttpHeaders.AUTHORIZATION));
+        if (authentication == null) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+}
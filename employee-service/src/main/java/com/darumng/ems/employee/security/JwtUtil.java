@@ -1,8 +1,11 @@
 package com.darumng.ems.employee.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -13,19 +16,23 @@ import java.util.List;
 @Component
 public class JwtUtil {
 
+    // Refresh-token family of the session; checked against RevocationList on direct calls
+    public static final String FAMILY_CLAIM = "fid";
+
     @Value("${jwt.secret}")
     private String secret;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    // Built once: the parser is immutable and thread-safe
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        SecretKey signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String extractUsername(String token) {
@@ -39,14 +46,19 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
+    /**
+     * Claims of an access token with a valid signature that has not expired, or null; one
+     * parse. Refresh tokens are signed with the same key but only auth-service accepts them.
+     */
+    public Claims verify(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            Claims claims = extractAllClaims(token);
+            return "refresh".equals(claims.get("type", String.class)) ? null : claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 }
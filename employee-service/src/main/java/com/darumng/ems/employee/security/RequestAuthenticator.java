@@ -0,0 +1,63 @@
+package com.darumng.ems.employee.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Authentication rules shared by the servlet and reactive filters. Requests through the
+ * gateway carry a signed identity header, checked with one HMAC; direct calls fall back
+ * to verifying the bearer token. Plain X-User-Email/X-User-Roles headers are not trusted.
+ * <p>
+ * The fallback accepts access tokens only, and checks their family against this
+ * service's own {@link RevocationList}, so a revoked session is refused on direct calls
+ * as it is at the gateway.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RequestAuthenticator {
+
+    private final GatewayIdentity gatewayIdentity;
+    private final JwtUtil jwtUtil;
+    private final RevocationList revocationList;
+
+    /**
+     * @return the caller's authentication, or null if neither header proves who it is
+     */
+    public UsernamePasswordAuthenticationToken authenticate(String identityHeader, String authHeader) {
+        if (identityHeader != null) {
+            UsernamePasswordAuthenticationToken authentication = gatewayIdentity.verify(identityHeader);
+            if (authentication != null) {
+                return authentication;
+            }
+        }
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtUtil.verify(authHeader.substring(7));
+                if (claims != null && revocationList.isRevoked(claims.get(JwtUtil.FAMILY_CLAIM, String.class))) {
+                    log.debug("Rejected a direct call with a token from a revoked family");
+                    return null;
+                }
+                if (claims != null) {
+                    @SuppressWarnings("unchecked")
+                    List<String> roles = claims.get("roles", List.class);
+                    List<SimpleGrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                            .map(SimpleGrantedAuthority::new)
+                            .collect(Collectors.toList());
+                    return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+                }
+            } catch (Exception e) {
+                log.error("Cannot set user authentication", e);
+            }
+        }
+        return null;
+    }
+}
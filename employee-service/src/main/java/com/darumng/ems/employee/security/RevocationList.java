@@ -0,0 +1,127 @@
+package com.darumng.ems.employee.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked refresh-token families, for bearer tokens presented directly instead of
+ * through the gateway. Kept the same way as the gateway's list: a Bloom filter over the
+ * snapshot auth-service serves on /api/auth/revocations, plus an exact overflow set for
+ * revocations that arrived on Kafka since. auth-service only lists a family while its
+ * access tokens can still be live, so both stay small.
+ * <p>
+ * Until the first snapshot arrives, only revocations seen on Kafka are enforced.
+ */
+@Component
+@Slf4j
+public class RevocationList {
+
+    private final RestClient restClient;
+
+    private final GatewayIdentity gatewayIdentity;
+
+    @Value("${security.revocation.snapshot-uri:http://auth-service/api/auth/revocations}")
+    private String snapshotUri;
+
+    @Value("${security.revocation.false-positive-rate:0.000001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter = BloomFilter.empty();
+
+    // Family id -> epoch millis after which its access tokens have all expired
+    private final Map<String, Long> overflow = new ConcurrentHashMap<>();
+
+    public RevocationList(@LoadBalanced RestClient.Builder restClientBuilder,
+                          GatewayIdentity gatewayIdentity,
+                          @Value("${security.revocation.snapshot-timeout-ms:5000}") int snapshotTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(snapshotTimeoutMs);
+        requestFactory.setReadTimeout(snapshotTimeoutMs);
+        this.restClient = restClientBuilder.clone().requestFactory(requestFactory).build();
+        this.gatewayIdentity = gatewayIdentity;
+    }
+
+    public boolean isRevoked(String familyId) {
+        if (familyId == null) {
+            return false;
+        }
+        return overflow.containsKey(familyId) || filter.mightContain(familyId);
+    }
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = "${kafka.topic.token-revocations:token-revocations}",
+                    partitions = "#{@partitionFinder.partitions('${kafka.topic.token-revocations:token-revocations}')}"),
+            containerFactory = "broadcastListenerContainerFactory")
+    public void onRevoked(ConsumerRecord<String, byte[]> record) {
+        if (record.key() == null || record.value() == null) {
+            return;
+        }
+        try {
+            revoked(record.key(), Long.parseLong(new String(record.value(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring revocation at offset {} with an unreadable expiry", record.offset());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        List<String> revoked;
+        try {
+            revoked = fetchSnapshot();
+        } catch (Exception e) {
+            log.warn("Could not fetch the revocation snapshot; keeping the current filter: {}", e.getMessage());
+            pruneOverflow();
+            return;
+        }
+        replaceSnapshot(revoked);
+    }
+
+    void revoked(String familyId, long forgetAfter) {
+        overflow.put(familyId, forgetAfter);
+        log.debug("Token family {} revoked", familyId);
+    }
+
+    void replaceSnapshot(List<String> revoked) {
+        filter = BloomFilter.of(revoked, falsePositiveRate);
+        // Published before the overflow is trimmed, so no revocation is ever in neither
+        revoked.forEach(overflow::remove);
+        pruneOverflow();
+        log.debug("Rebuilt revocation filter with {} families; {} in overflow", revoked.size(), overflow.size());
+    }
+
+    private List<String> fetchSnapshot() {
+        JsonNode body = restClient.get()
+                .uri(snapshotUri)
+                .header(GatewayIdentity.HEADER, gatewayIdentity.signInternal())
+                .retrieve()
+                .body(JsonNode.class);
+        JsonNode ids = body == null ? null : body.path("data").path("familyIds");
+        if (ids == null || !ids.isArray()) {
+            throw new IllegalStateException("Malformed revocation snapshot");
+        }
+
+        List<String> revoked = new ArrayList<>(ids.size());
+        ids.forEach(id -> revoked.add(id.asText()));
+        return revoked;
+    }
+
+    private void pruneOverflow() {
+        long now = System.currentTimeMillis();
+        overflow.values().removeIf(forgetAfter -> forgetAfter < now);
+    }
+}
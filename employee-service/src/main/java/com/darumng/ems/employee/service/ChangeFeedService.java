@@ -0,0 +1,198 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.dto.ChangeFeedPage;
+import com.darumng.ems.employee.dto.ChangeToken;
+import com.darumng.ems.employee.dto.DepartmentResponse;
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.repository.DepartmentRepository;
+import com.darumng.ems.employee.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta-sync feed over employees and departments. Live rows are found by updated_at,
+ * deleted ones by their tombstone, and everything is merged into one stream ordered by
+ * (changedAt, kind, id), which is what a {@link ChangeToken} points into.
+ * <p>
+ * updated_at is stamped when a row is written, not when its transaction commits, so a
+ * slow transaction can make a change visible behind a token already handed out. The feed
+ * therefore only serves changes older than the settle time, which must exceed the longest
+ * write transaction (bulk imports included).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedService {
+
+    private static final int EMPLOYEE = 1;
+    private static final int DEPARTMENT = 2;
+    private static final int DELETED_EMPLOYEE = 3;
+    private static final int DELETED_DEPARTMENT = 4;
+
+    private static final String CHANGES_SQL =
+            branch(EMPLOYEE, "employee_id", "updated_at", "employees", "") +
+            " UNION ALL " +
+            branch(DEPARTMENT, "id", "updated_at", "departments", "") +
+            " UNION ALL " +
+            branch(DELETED_EMPLOYEE, "entity_id", "deleted_at", "tombstones", "entity_type = 'EMPLOYEE' AND ") +
+            " UNION ALL " +
+            branch(DELETED_DEPARTMENT, "entity_id", "deleted_at", "tombstones", "entity_type = 'DEPARTMENT' AND ") +
+            " ORDER BY changed_at, kind, id LIMIT :limit";
+
+    private static final String TOMBSTONE_SQL =
+            "INSERT INTO tombstones (entity_type, entity_id, deleted_at) VALUES (:type, :id, :deletedAt) " +
+            "ON CONFLICT (entity_type, entity_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+
+    @Value("${changes.settle-seconds:60}")
+    private long settleSeconds;
+
+    @Value("${changes.tombstone-retention-days:30}")
+    private long retentionDays;
+
+    @Value("${pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Throws {@link IllegalStateException} when the client may be missing deletes older than
+     * the tombstone retention, which have been purged; it must then resync from scratch.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPage getChanges(String since, Integer size) {
+        int pageSize = resolvePageSize(size);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.minusSeconds(settleSeconds);
+
+        ChangeToken after = since == null || since.isBlank()
+                ? new ChangeToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0, 0L, now)
+                : ChangeToken.decode(since);
+        if (after.safeSince().isBefore(now.minusDays(retentionDays))) {
+            throw new IllegalStateException("Change token has expired; resync without since");
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", after.getChangedAt())
+                .addValue("kind", after.getKind())
+                .addValue("id", after.getId())
+                .addValue("until", until)
+                .addValue("limit", pageSize + 1);
+        List<ChangeToken> rows = jdbcTemplate.query(CHANGES_SQL, params, (rs, i) -> new ChangeToken(
+                rs.getTimestamp("changed_at").toLocalDateTime(), rs.getInt("kind"), rs.getLong("id"),
+                after.getSyncStartedAt()));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ChangeToken> changes = hasMore ? rows.subList(0, pageSize) : rows;
+
+        // Everything before the settle point has been returned once the feed is drained,
+        // so the token can move up to it; this keeps idle clients' tokens from expiring
+        ChangeToken next;
+        if (hasMore) {
+            next = changes.get(changes.size() - 1);
+        } else {
+            next = until.isAfter(after.getChangedAt())
+                    ? new ChangeToken(until, 0, 0L, after.getSyncStartedAt())
+                    : after;
+        }
+
+        return ChangeFeedPage.builder()
+                .employees(loadEmployees(idsOf(changes, EMPLOYEE)))
+                .departments(loadDepartments(idsOf(changes, DEPARTMENT)))
+                .deletedEmployeeIds(idsOf(changes, DELETED_EMPLOYEE))
+                .deletedDepartmentIds(idsOf(changes, DELETED_DEPARTMENT))
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeDeleted(Long employeeId) {
+        writeTombstone("EMPLOYEE", employeeId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void departmentDeleted(Long departmentId) {
+        writeTombstone("DEPARTMENT", departmentId);
+    }
+
+    @Scheduled(cron = "${changes.tombstone-purge-cron:0 43 3 * * *}")
+    public void purgeTombstones() {
+        int purged = jdbcTemplate.getJdbcOperations().update("DELETE FROM tombstones WHERE deleted_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+        if (purged > 0) {
+            log.info("Purged {} tombstones older than {} days", purged, retentionDays);
+        }
+    }
+
+    // One index range scan per source, cut off at the page limit before the merge.
+    // The row comparison keeps the (changedAt, kind, id) order across sources.
+    private static String branch(int kind, String idColumn, String timeColumn, String table, String filter) {
+        return "(SELECT " + kind + " AS kind, " + idColumn + " AS id, " + timeColumn + " AS changed_at " +
+                "FROM " + table + " WHERE " + filter +
+                timeColumn + " >= :since AND " + timeColumn + " < :until AND " +
+                "(" + timeColumn + ", " + kind + ", " + idColumn + ") > (:since, :kind, :id) " +
+                "ORDER BY " + timeColumn + ", " + idColumn + " LIMIT :limit)";
+    }
+
+    private void writeTombstone(String type, Long id) {
+        jdbcTemplate.update(TOMBSTONE_SQL, new MapSqlParameterSource()
+                .addValue("type", type)
+                .addValue("id", id)
+                .addValue("deletedAt", LocalDateTime.now()));
+    }
+
+    private static List<Long> idsOf(List<ChangeToken> changes, int kind) {
+        return changes.stream()
+                .filter(c -> c.getKind() == kind)
+                .map(ChangeToken::getId)
+                .toList();
+    }
+
+    // Rows read after the feed query may be newer than the change that listed them, or gone;
+    // either way a later page reports that change too
+    private List<EmployeeResponse> loadEmployees(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EmployeeResponse> byId = employeeRepository.findResponsesByIdArray(ids).stream()
+                .collect(Collectors.toMap(EmployeeResponse::getEmployeeId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<DepartmentResponse> loadDepartments(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, DepartmentResponse> byId = departmentRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(DepartmentResponse::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
+}
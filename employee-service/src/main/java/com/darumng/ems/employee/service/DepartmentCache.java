@@ -0,0 +1,129 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.dto.CursorPage;
+import com.darumng.ems.employee.dto.DepartmentInfo;
+import com.darumng.ems.employee.dto.DepartmentResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-node near-cache in front of DepartmentRepository. Entries are dropped when this
+ * node commits a department change and when any node's change arrives on
+ * department-events (see {@link DepartmentCacheInvalidator}).
+ * <p>
+ * Department id and name are kept for {@code ttl}. Summaries and list pages also carry
+ * the manager name and live headcount, which change without a department event, so they
+ * are keyed by the version the caller read from the database (the same value served as
+ * the ETag): a changed version simply misses, and superseded entries age out after
+ * {@code summary-ttl}.
+ * <p>
+ * Loaders run outside the cache rather than through {@code Cache.get(key, loader)}, which
+ * holds a map-bin monitor for the duration of the database read and would pin the carrier
+ * in virtual-thread mode. Two concurrent misses for one key may both load; the queries are
+ * single-row or single-page, so that is cheaper than serialising readers behind a lock.
+ */
+@Component
+@Slf4j
+public class DepartmentCache {
+
+    private final Cache<Long, DepartmentInfo> departments;
+    private final Cache<String, DepartmentResponse> summaries;
+    private final Cache<String, CursorPage<DepartmentResponse>> pages;
+
+    // Bumped on every eviction so a load that raced with one is not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DepartmentCache(MeterRegistry meterRegistry,
+                           @Value("${department.cache.max-size:10000}") long maxSize,
+                           @Value("${department.cache.ttl:PT10M}") Duration ttl,
+                           @Value("${department.cache.summary-ttl:PT30S}") Duration summaryTtl) {
+        this.departments = build(maxSize, ttl);
+        this.summaries = build(maxSize, summaryTtl);
+        this.pages = build(1000, summaryTtl);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, departments, "departments");
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "department-summaries");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "department-pages");
+    }
+
+    /**
+     * Returns the department's id and name, or empty if it does not exist. Misses are not cached.
+     */
+    public Optional<DepartmentInfo> getDepartment(Long id, Function<Long, Optional<DepartmentInfo>> loader) {
+        DepartmentInfo cached = departments.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long seen = evictions.get();
+        Optional<DepartmentInfo> loaded = loader.apply(id);
+        if (loaded.isPresent()) {
+            departments.put(id, loaded.get());
+            if (evictions.get() != seen) {
+                departments.invalidate(id);
+            }
+        }
+        return loaded;
+    }
+
+    public DepartmentResponse getSummary(Long id, String version, Function<Long, DepartmentResponse> loader) {
+        return getOrLoad(summaries, id + "|" + version, () -> loader.apply(id));
+    }
+
+    public CursorPage<DepartmentResponse> getPage(String cursor, int size, String version,
+                                                  Function<String, CursorPage<DepartmentResponse>> loader) {
+        return getOrLoad(pages, (cursor == null ? "" : cursor) + "|" + size + "|" + version,
+                () -> loader.apply(cursor));
+    }
+
+    public void evict(Long id) {
+        evictions.incrementAndGet();
+        departments.invalidate(id);
+    }
+
+    /**
+     * Evicts once the current transaction commits, so a concurrent reader cannot
+     * re-cache the old row between the eviction and the commit.
+     */
+    public void evictAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id);
+            }
+        });
+    }
+
+    private static <K, V> V getOrLoad(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            value = loader.get();
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    private static <K, V> Cache<K, V> build(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
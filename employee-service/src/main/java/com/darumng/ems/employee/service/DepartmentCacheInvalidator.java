@@ -0,0 +1,69 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.event.DepartmentEvent;
+import com.darumng.ems.employee.event.EventCodec;
+import com.darumng.ems.employee.event.EventOrigin;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Drops cached departments when any replica changes them. Each node reads every
+ * partition itself, outside any consumer group, so every node sees every event.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DepartmentCacheInvalidator {
+
+    private final DepartmentCache departmentCache;
+    private final OrgChartService orgChart;
+    private final EventCodec eventCodec;
+    private final EventOrigin eventOrigin;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = "${kafka.topic.department-events}",
+                    partitions = "#{@partitionFinder.partitions('${kafka.topic.department-events}')}"),
+            containerFactory = "broadcastListenerContainerFactory")
+    public void onDepartmentEvent(ConsumerRecord<String, byte[]> record) {
+        Long departmentId;
+        try {
+            Header contentType = record.headers().lastHeader(EventCodec.CONTENT_TYPE_HEADER);
+            DepartmentEvent event = eventCodec.decodeDepartmentEvent(
+                    contentType == null ? null : new String(contentType.value(), StandardCharsets.UTF_8),
+                    record.value());
+            departmentId = event.departmentId();
+            log.debug("Evicting department {} on {}", departmentId, event.eventType());
+        } catch (Exception e) {
+            // Unreadable payload: the record key is the department id, so evict by that
+            log.warn("Could not decode department event at offset {}, evicting by key", record.offset(), e);
+            departmentId = parseKey(record.key());
+        }
+        if (departmentId != null) {
+            departmentCache.evict(departmentId);
+        } else {
+            log.warn("Department event at offset {} has no usable key; the entry expires by ttl", record.offset());
+        }
+        // This node's own changes invalidated the org chart at commit
+        if (!eventOrigin.isLocal(record) && EventOrigin.isOrgChange(record)) {
+            orgChart.invalidate();
+        }
+    }
+
+    private static Long parseKey(String key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.dto.DepartmentStats;
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import com.darumng.ems.employee.repository.DepartmentRepository;
+import com.darumng.ems.employee.repository.EmployeeChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Keeps department_headcounts in step with employee writes. Callers report each change
+ * inside their own transaction; the deltas are summed per (department, status) and
+ * upserted in key order, so concurrent writers always lock counter rows in the same order.
+ * A change to any department's total also bumps the department list version, last, after
+ * the counter rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepartmentHeadcountService {
+
+    // Arbitrary application-wide key for the reconciliation advisory lock
+    private static final long RECONCILE_LOCK_KEY = 0x454D535F48435354L;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO department_headcounts (department_id, status, headcount) VALUES (?, ?, ?) " +
+            "ON CONFLICT (department_id, status) " +
+            "DO UPDATE SET headcount = department_headcounts.headcount + EXCLUDED.headcount";
+
+    private static final String STATS_SQL =
+            "SELECT d.id, d.name, h.status, h.headcount " +
+            "FROM departments d LEFT JOIN department_headcounts h ON h.department_id = d.id ";
+
+    private static final String RECONCILE_UPSERT_SQL =
+            "INSERT INTO department_headcounts (department_id, status, headcount) " +
+            "SELECT department_id, status, COUNT(*) FROM employees " +
+            "WHERE department_id IS NOT NULL GROUP BY department_id, status " +
+            "ON CONFLICT (department_id, status) DO UPDATE SET headcount = EXCLUDED.headcount " +
+            "WHERE department_headcounts.headcount <> EXCLUDED.headcount";
+
+    private static final String RECONCILE_ZERO_SQL =
+            "UPDATE department_headcounts h SET headcount = 0 WHERE h.headcount <> 0 AND NOT EXISTS (" +
+            "SELECT 1 FROM employees e WHERE e.department_id = h.department_id AND e.status = h.status)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeAdded(Long departmentId, EmployeeStatus status) {
+        write(delta(departmentId, status, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeesAdded(List<Employee> employees) {
+        Map<Key, Long> deltas = new TreeMap<>();
+        for (Employee employee : employees) {
+            if (employee.getDepartment() != null) {
+                deltas.merge(new Key(employee.getDepartment().getId(), employee.getStatus()), 1L, Long::sum);
+            }
+        }
+        write(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeRemoved(Long departmentId, EmployeeStatus status) {
+        write(delta(departmentId, status, -1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeChanged(Long oldDepartmentId, EmployeeStatus oldStatus,
+                                Long newDepartmentId, EmployeeStatus newStatus) {
+        Map<Key, Long> deltas = new TreeMap<>();
+        add(deltas, oldDepartmentId, oldStatus, -1);
+        add(deltas, newDepartmentId, newStatus, 1);
+        write(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeesChanged(List<EmployeeChange> changes) {
+        Map<Key, Long> deltas = new TreeMap<>();
+        for (EmployeeChange change : changes) {
+            add(deltas, change.getPreviousDepartmentId(), change.getPreviousStatus(), -1);
+            add(deltas, change.getDepartmentId(), change.getStatus(), 1);
+        }
+        write(deltas);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DepartmentStats> getAllStats() {
+        return readStats(STATS_SQL + "ORDER BY d.id");
+    }
+
+    @Transactional(readOnly = true)
+    public DepartmentStats getStats(Long departmentId) {
+        return readStats(STATS_SQL + "WHERE d.id = ?", departmentId).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Department not found"));
+    }
+
+    /**
+     * Recounts from employees and rewrites only the rows that drifted. The table lock
+     * waits for in-flight writers and holds new ones back until the recount commits,
+     * so no delta is lost or double counted.
+     */
+    @Scheduled(cron = "${department.stats.reconcile-cron:0 17 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                RECONCILE_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+        jdbcTemplate.execute("LOCK TABLE department_headcounts IN EXCLUSIVE MODE");
+
+        int repaired = jdbcTemplate.update(RECONCILE_UPSERT_SQL) + jdbcTemplate.update(RECONCILE_ZERO_SQL);
+        if (repaired > 0) {
+            jdbcTemplate.update(DepartmentRepository.BUMP_COLLECTION_VERSION_SQL);
+            log.warn("Department headcount reconciliation repaired {} counters", repaired);
+        } else {
+            log.info("Department headcounts are consistent");
+        }
+    }
+
+    private static Map<Key, Long> delta(Long departmentId, EmployeeStatus status, long delta) {
+        Map<Key, Long> deltas = new TreeMap<>();
+        add(deltas, departmentId, status, delta);
+        return deltas;
+    }
+
+    private static void add(Map<Key, Long> deltas, Long departmentId, EmployeeStatus status, long delta) {
+        if (departmentId != null && status != null) {
+            deltas.merge(new Key(departmentId, status), delta, Long::sum);
+        }
+    }
+
+    private void write(Map<Key, Long> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[] {key.departmentId(), key.status().name(), delta});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+        // Status changes within a department leave its total, and so the department list, alone
+        Map<Long, Long> totals = new HashMap<>();
+        deltas.forEach((key, delta) -> totals.merge(key.departmentId(), delta, Long::sum));
+        if (totals.values().stream().anyMatch(total -> total != 0)) {
+            jdbcTemplate.update(DepartmentRepository.BUMP_COLLECTION_VERSION_SQL);
+        }
+    }
+
+    private List<DepartmentStats> readStats(String sql, Object... args) {
+        Map<Long, DepartmentStats> stats = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            long id = rs.getLong(1);
+            DepartmentStats department = stats.get(id);
+            if (department == null) {
+                Map<String, Long> byStatus = new LinkedHashMap<>();
+                for (EmployeeStatus status : EmployeeStatus.values()) {
+                    byStatus.put(status.name(), 0L);
+                }
+                department = DepartmentStats.builder()
+                        .departmentId(id)
+                        .departmentName(rs.getString(2))
+                        .byStatus(byStatus)
+                        .build();
+                stats.put(id, department);
+            }
+            String status = rs.getString(3);
+            if (status != null) {
+                long headcount = rs.getLong(4);
+                department.getByStatus().put(status, headcount);
+                department.setTotal(department.getTotal() + headcount);
+            }
+        }, args);
+        return new ArrayList<>(stats.values());
+    }
+
+    private record Key(Long departmentId, EmployeeStatus status) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byDepartment = departmentId.compareTo(other.departmentId);
+            return byDepartment != 0 ? byDepartment : status.compareTo(other.status);
+        }
+    }
+}
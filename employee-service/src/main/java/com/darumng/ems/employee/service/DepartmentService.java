@@ -1,18 +1,29 @@
 package com.darumng.ems.employee.service;
 
+import com.darumng.ems.employee.dto.CursorPage;
+import com.darumng.ems.employee.dto.DepartmentPatchRequest;
 import com.darumng.ems.employee.dto.DepartmentRequest;
 import com.darumng.ems.employee.dto.DepartmentResponse;
+import com.darumng.ems.employee.dto.PageCursor;
 import com.darumng.ems.employee.entity.Department;
-import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.repository.DepartmentChange;
+import com.darumng.ems.employee.repository.DepartmentField;
 import com.darumng.ems.employee.repository.DepartmentRepository;
 import com.darumng.ems.employee.repository.EmployeeRepository;
+import com.darumng.ems.employee.repository.FieldRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +33,15 @@ public class DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
     private final EmployeeEventPublisher eventPublisher;
+    private final DepartmentCache departmentCache;
+    private final OrgChartService orgChart;
+    private final ChangeFeedService changeFeed;
+
+    @Value("${pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:500}")
+    private int maxPageSize;
 
     @Transactional
     public DepartmentResponse createDepartment(DepartmentRequest request) {
@@ -37,24 +57,70 @@ public class DepartmentService {
 
         department = departmentRepository.save(department);
         log.info("Department created: {}", department.getName());
+        departmentRepository.bumpCollectionVersion();
 
         eventPublisher.publishDepartmentCreated(department);
+        departmentCache.evictAfterCommit(department.getId());
+        if (department.getManagerId() != null) {
+            orgChart.invalidateAfterCommit();
+        }
+
+        return loadSummary(department.getId());
+    }
+
+    /**
+     * Strong ETag for the department list: a counter bumped by any change to a
+     * department, its manager's name or its headcount, so every page moves on together.
+     */
+    public String getDepartmentsETag() {
+        return "\"" + departmentRepository.findCollectionVersion() + "\"";
+    }
+
+    public String getDepartmentETag(Long id) {
+        return departmentRepository.findVersionById(id)
+                .map(version -> "\"" + version + "\"")
+                .orElseThrow(() -> new RuntimeException("Department not found"));
+    }
 
-        return mapToResponse(department);
+    /**
+     * @param etag the value from {@link #getDepartmentsETag()} the response will be sent with.
+     *             Pages are cached under it, so a page is never older than its ETag.
+     */
+    public CursorPage<DepartmentResponse> getDepartmentsPage(String cursor, Integer size, String etag) {
+        int pageSize = resolvePageSize(size);
+        return departmentCache.getPage(cursor, pageSize, etag, c -> loadPage(c, pageSize));
     }
 
+    public DepartmentResponse getDepartmentById(Long id, String etag) {
+        return departmentCache.getSummary(id, etag, this::loadSummary);
+    }
+
+    /**
+     * Uncached: only the requested columns are read, and the manager join and headcount
+     * are skipped unless asked for.
+     */
     @Transactional(readOnly = true)
-    public List<DepartmentResponse> getAllDepartments() {
-        return departmentRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<Map<String, Object>> getDepartmentFieldsPage(String cursor, Integer size, String fields) {
+        Set<DepartmentField> selected = DepartmentField.parse(fields);
+        int pageSize = resolvePageSize(size);
+
+        List<FieldRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = departmentRepository.findFieldsPage(selected, null, null, pageSize + 1);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = departmentRepository.findFieldsPage(selected, after.getCreatedAt(), after.getId(), pageSize + 1);
+        }
+
+        return CursorPage.of(rows, pageSize, r -> new PageCursor(r.getCreatedAt(), r.getId()))
+                .map(FieldRow::getValues);
     }
 
     @Transactional(readOnly = true)
-    public DepartmentResponse getDepartmentById(Long id) {
-        Department department = departmentRepository.findById(id)
+    public Map<String, Object> getDepartmentFieldsById(Long id, String fields) {
+        return departmentRepository.findFieldsById(DepartmentField.parse(fields), id)
+                .map(FieldRow::getValues)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
-        return mapToResponse(department);
     }
 
     @Transactional
@@ -67,16 +133,60 @@ public class DepartmentService {
             throw new RuntimeException("Department name already exists");
         }
 
+        boolean managerChanged = !Objects.equals(department.getManagerId(), request.getManagerId());
+
         department.setName(request.getName());
         department.setDescription(request.getDescription());
         department.setManagerId(request.getManagerId());
 
         department = departmentRepository.save(department);
         log.info("Department updated: {}", department.getName());
+        departmentRepository.bumpCollectionVersion();
+
+        eventPublisher.publishDepartmentUpdated(department, managerChanged);
+        departmentCache.evictAfterCommit(department.getId());
+        if (managerChanged) {
+            orgChart.invalidateAfterCommit();
+        }
+
+        return loadSummary(department.getId());
+    }
 
-        eventPublisher.publishDepartmentUpdated(department);
+    /**
+     * Writes only the fields present in the request, in one UPDATE guarded by the row
+     * version instead of a read-modify-write. Throws {@link OptimisticLockingFailureException}
+     * when the department changed after the caller read {@code request.version}.
+     */
+    @Transactional
+    public DepartmentResponse patchDepartment(Long id, DepartmentPatchRequest request) {
+        if (request.getName() == null && request.getDescription() == null && request.getManagerId() == null) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        if (request.getName() != null && departmentRepository.existsByNameAndIdNot(request.getName(), id)) {
+            throw new RuntimeException("Department name already exists");
+        }
+
+        DepartmentChange change = departmentRepository.patch(id, request.getVersion(), request.getName(),
+                        request.getDescription(), request.getManagerId())
+                .orElseThrow(() -> departmentRepository.existsById(id)
+                        ? new OptimisticLockingFailureException("Department was modified by someone else; reload and retry")
+                        : new RuntimeException("Department not found"));
+        log.info("Department patched: {}", change.getName());
+        departmentRepository.bumpCollectionVersion();
+
+        boolean managerChanged = !Objects.equals(change.getPreviousManagerId(), change.getManagerId());
+        eventPublisher.publishDepartmentUpdated(Department.builder()
+                .id(change.getId())
+                .name(change.getName())
+                .description(change.getDescription())
+                .managerId(change.getManagerId())
+                .build(), managerChanged);
+        departmentCache.evictAfterCommit(id);
+        if (managerChanged) {
+            orgChart.invalidateAfterCommit();
+        }
 
-        return mapToResponse(department);
+        return loadSummary(id);
     }
 
     @Transactional
@@ -84,36 +194,47 @@ public class DepartmentService {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
 
-        List<Employee> employees = employeeRepository.findByDepartmentId(id);
-        if (!employees.isEmpty()) {
+        if (employeeRepository.existsByDepartmentId(id)) {
             throw new RuntimeException("Cannot delete department with existing employees");
         }
 
         departmentRepository.delete(department);
         log.info("Department deleted: {}", department.getName());
+        departmentRepository.bumpCollectionVersion();
 
         eventPublisher.publishDepartmentDeleted(id);
+        changeFeed.departmentDeleted(id);
+        departmentCache.evictAfterCommit(id);
+        orgChart.invalidateAfterCommit();
     }
 
-    private DepartmentResponse mapToResponse(Department department) {
-        int employeeCount = employeeRepository.findByDepartmentId(department.getId()).size();
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
 
-        String managerName = null;
-        if (department.getManagerId() != null) {
-            employeeRepository.findById(department.getManagerId())
-                    .ifPresent(emp -> {
-                    });
+    private CursorPage<DepartmentResponse> loadPage(String cursor, int pageSize) {
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<DepartmentResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = departmentRepository.findSummaryFirstPage(limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = departmentRepository.findSummaryPageAfter(after.getCreatedAt(), after.getId(), limit);
         }
 
-        return DepartmentResponse.builder()
-                .id(department.getId())
-                .name(department.getName())
-                .description(department.getDescription())
-                .managerId(department.getManagerId())
-                .managerName(managerName)
-                .employeeCount(employeeCount)
-                .createdAt(department.getCreatedAt())
-                .updatedAt(department.getUpdatedAt())
-                .build();
+        return CursorPage.of(rows, pageSize,
+                d -> new PageCursor(d.getCreatedAt(), d.getId()));
+    }
+
+    private DepartmentResponse loadSummary(Long id) {
+        return departmentRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Department not found"));
     }
 }
@@ -3,23 +3,42 @@ package com.darumng.ems.employee.service;
 
 import com.darumng.ems.employee.entity.Employee;
 import com.darumng.ems.employee.entity.Department;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.darumng.ems.employee.event.*;
+import com.darumng.ems.employee.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-
-import java.util.HashMap;
-import java.util.Map;
-
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes events to the outbox table inside the caller's transaction; {@link OutboxRelay}
+ * delivers them to Kafka after commit. A rolled-back change therefore never emits an event,
+ * and a failure to record the event rolls the change back.
+ * <p>
+ * Every event is stamped with this node's {@link EventOrigin} and with whether it can have
+ * changed department membership or managers, which is what other replicas' org charts need.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
 public class EmployeeEventPublisher {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventCodec eventCodec;
+    private final EventOrigin eventOrigin;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Value("${kafka.topic.employee-events}")
     private String employeeEventsTopic;
@@ -28,110 +47,91 @@ public class EmployeeEventPublisher {
     private String departmentEventsTopic;
 
     public void publishEmployeeCreated(Employee employee) {
-        try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventType", "EMPLOYEE_CREATED");
-            event.put("employeeId", employee.getEmployeeId());
-            event.put("email", employee.getEmail());
-            event.put("firstName", employee.getFirstName());
-            event.put("lastName", employee.getLastName());
-            event.put("status", employee.getStatus());
-            event.put("timestamp", System.currentTimeMillis());
-
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(employeeEventsTopic, employee.getEmployeeId().toString(), message);
-
-            log.info("Published EMPLOYEE_CREATED event for: {}", employee.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to publish EMPLOYEE_CREATED event", e);
-        }
+        enqueue(Collections.singletonList(outboxRow(employee, EventType.EMPLOYEE_CREATED, employee.getDepartment() != null)));
+
+        log.info("Queued EMPLOYEE_CREATED event for: {}", employee.getEmail());
     }
 
-    public void publishEmployeeUpdated(Employee employee) {
-        try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventType", "EMPLOYEE_UPDATED");
-            event.put("employeeId", employee.getEmployeeId());
-            event.put("email", employee.getEmail());
-            event.put("firstName", employee.getFirstName());
-            event.put("lastName", employee.getLastName());
-            event.put("status", employee.getStatus());
-            event.put("timestamp", System.currentTimeMillis());
-
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(employeeEventsTopic, employee.getEmployeeId().toString(), message);
-
-            log.info("Published EMPLOYEE_UPDATED event for: {}", employee.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to publish EMPLOYEE_UPDATED event", e);
-        }
+    /**
+     * @param departmentChanged whether the employee moved into, out of or between departments
+     */
+    public void publishEmployeeUpdated(Employee employee, boolean departmentChanged) {
+        enqueue(Collections.singletonList(outboxRow(employee, EventType.EMPLOYEE_UPDATED, departmentChanged)));
+
+        log.info("Queued EMPLOYEE_UPDATED event for: {}", employee.getEmail());
     }
 
-    public void publishEmployeeDeleted(Long employeeId) {
-        try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventType", "EMPLOYEE_DELETED");
-            event.put("employeeId", employeeId);
-            event.put("timestamp", System.currentTimeMillis());
+    public void publishEmployeesCreated(List<Employee> employees) {
+        publishEmployeeBatch(EventType.EMPLOYEE_CREATED, employees, null);
+    }
+
+    public void publishEmployeesUpdated(List<Employee> employees, boolean departmentChanged) {
+        publishEmployeeBatch(EventType.EMPLOYEE_UPDATED, employees, departmentChanged);
+    }
 
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(employeeEventsTopic, employeeId.toString(), message);
+    /**
+     * @param hadDepartment whether the employee belonged to a department
+     */
+    public void publishEmployeeDeleted(Long employeeId, boolean hadDepartment) {
+        EncodedEvent event = eventCodec.encode(EmployeeEvent.deleted(employeeId));
+        enqueue(Collections.singletonList(outboxRow(employeeEventsTopic, employeeId, EventType.EMPLOYEE_DELETED, event,
+                hadDepartment)));
 
-            log.info("Published EMPLOYEE_DELETED event for ID: {}", employeeId);
-        } catch (Exception e) {
-            log.error("Failed to publish EMPLOYEE_DELETED event", e);
-        }
+        log.info("Queued EMPLOYEE_DELETED event for ID: {}", employeeId);
     }
 
     public void publishDepartmentCreated(Department department) {
-        try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventType", "DEPARTMENT_CREATED");
-            event.put("departmentId", department.getId());
-            event.put("name", department.getName());
-            event.put("description", department.getDescription());
-            event.put("timestamp", System.currentTimeMillis());
-
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(departmentEventsTopic, department.getId().toString(), message);
-
-            log.info("Published DEPARTMENT_CREATED event for: {}", department.getName());
-        } catch (Exception e) {
-            log.error("Failed to publish DEPARTMENT_CREATED event", e);
-        }
+        enqueue(Collections.singletonList(outboxRow(department, EventType.DEPARTMENT_CREATED, department.getManagerId() != null)));
+
+        log.info("Queued DEPARTMENT_CREATED event for: {}", department.getName());
     }
 
-    public void publishDepartmentUpdated(Department department) {
-        try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventType", "DEPARTMENT_UPDATED");
-            event.put("departmentId", department.getId());
-            event.put("name", department.getName());
-            event.put("description", department.getDescription());
-            event.put("timestamp", System.currentTimeMillis());
-
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(departmentEventsTopic, department.getId().toString(), message);
-
-            log.info("Published DEPARTMENT_UPDATED event for: {}", department.getName());
-        } catch (Exception e) {
-            log.error("Failed to publish DEPARTMENT_UPDATED event", e);
-        }
+    public void publishDepartmentUpdated(Department department, boolean managerChanged) {
+        enqueue(Collections.singletonList(outboxRow(department, EventType.DEPARTMENT_UPDATED, managerChanged)));
+
+        log.info("Queued DEPARTMENT_UPDATED event for: {}", department.getName());
     }
 
     public void publishDepartmentDeleted(Long departmentId) {
-        try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventType", "DEPARTMENT_DELETED");
-            event.put("departmentId", departmentId);
-            event.put("timestamp", System.currentTimeMillis());
-
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(departmentEventsTopic, departmentId.toString(), message);
-
-            log.info("Published DEPARTMENT_DELETED event for ID: {}", departmentId);
-        } catch (Exception e) {
-            log.error("Failed to publish DEPARTMENT_DELETED event", e);
+        EncodedEvent event = eventCodec.encode(DepartmentEvent.deleted(departmentId));
+        enqueue(Collections.singletonList(outboxRow(departmentEventsTopic, departmentId, EventType.DEPARTMENT_DELETED, event, true)));
+
+        log.info("Queued DEPARTMENT_DELETED event for ID: {}", departmentId);
+    }
+
+    // departmentChanged null: decide per employee by whether they have a department
+    private void publishEmployeeBatch(EventType eventType, List<Employee> employees, Boolean departmentChanged) {
+        if (employees.isEmpty()) {
+            return;
         }
+        List<Object[]> rows = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            rows.add(outboxRow(employee, eventType,
+                    departmentChanged != null ? departmentChanged : employee.getDepartment() != null));
+        }
+        enqueue(rows);
+        log.info("Queued {} {} events", rows.size(), eventType);
+    }
+
+    private void enqueue(List<Object[]> rows) {
+        // Flush first so the outbox ids are drawn only once this transaction holds its
+        // row locks; a later change to the same key then always sorts after this one
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(OutboxEventRepository.INSERT_SQL, rows);
+    }
+
+    private Object[] outboxRow(Employee employee, EventType eventType, boolean orgChange) {
+        EncodedEvent event = eventCodec.encode(EmployeeEvent.of(eventType, employee));
+        return outboxRow(employeeEventsTopic, employee.getEmployeeId(), eventType, event, orgChange);
+    }
+
+    private Object[] outboxRow(Department department, EventType eventType, boolean orgChange) {
+        EncodedEvent event = eventCodec.encode(DepartmentEvent.of(eventType, department));
+        return outboxRow(departmentEventsTopic, department.getId(), eventType, event, orgChange);
+    }
+
+    private Object[] outboxRow(String topic, Long key, EventType eventType, EncodedEvent event, boolean orgChange) {
+        return new Object[] {topic, key.toString(), eventType.name(), event.contentType(), event.schemaId(),
+                event.payload(), eventOrigin.id(), orgChange};
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,284 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over employee first name, last name and email.
+ * <p>
+ * Terms are lower-cased and capped at {@link #MAX_TERM_LENGTH} characters, and each
+ * maps to a sorted, copy-on-write array of employee ids in a skip list, so a prefix
+ * lookup is one {@code subMap} walk. Readers take no locks; writers are serialized,
+ * which is fine because writes are rare next to searches. Memory per employee is
+ * bounded: three capped terms plus three id slots.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeSearchIndex {
+
+    static final int MAX_TERM_LENGTH = 64;
+
+    // Caps the work of multi-word queries whose first word matches very many employees
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentSkipListMap<String, long[]> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, String[]> termsById = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final Object writeLock = new Object();
+
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns up to {@code limit} ids whose terms start with every word of the query,
+     * ordered by matching term and then id.
+     */
+    public List<Long> search(String query, int limit) {
+        String[] words = normalize(query).split("\\s+");
+        String driver = Arrays.stream(words).max(Comparator.comparingInt(String::length)).orElse("");
+        if (driver.isEmpty()) {
+            return List.of();
+        }
+
+        LinkedHashSet<Long> matches = new LinkedHashSet<>();
+        int scanned = 0;
+        for (long[] ids : postings.subMap(driver, true, driver + Character.MAX_VALUE, true).values()) {
+            for (long id : ids) {
+                if (++scanned > MAX_CANDIDATES) {
+                    return new ArrayList<>(matches);
+                }
+                if (words.length == 1 || matchesAll(termsById.get(id), words)) {
+                    matches.add(id);
+                    if (matches.size() == limit) {
+                        return new ArrayList<>(matches);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(matches);
+    }
+
+    /**
+     * Indexes the employees once the current transaction commits; rolled-back
+     * writes never reach the index.
+     */
+    public void putAfterCommit(Collection<Employee> employees) {
+        // Capture values now; the entities may be changed or detached before commit
+        Map<Long, String[]> entries = employees.stream()
+                .collect(Collectors.toMap(Employee::getEmployeeId,
+                        e -> termsOf(e.getFirstName(), e.getLastName(), e.getEmail())));
+        afterCommit(() -> entries.forEach(this::put));
+    }
+
+    public void removeAfterCommit(Long employeeId) {
+        afterCommit(() -> remove(employeeId));
+    }
+
+    public void put(Long employeeId, String firstName, String lastName, String email) {
+        put(employeeId, termsOf(firstName, lastName, email));
+    }
+
+    public void remove(Long employeeId) {
+        synchronized (writeLock) {
+            if (building) {
+                removedDuringBuild.add(employeeId);
+            }
+            String[] old = termsById.remove(employeeId);
+            if (old != null) {
+                for (String term : old) {
+                    removePosting(term, employeeId);
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.currentTimeMillis();
+        building = true;
+
+        // Load outside the write lock; live writes made meanwhile win over loaded rows
+        Map<Long, String[]> loaded = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<EmployeeResponse> employees = employeeRepository.streamForExport(null, null)) {
+                employees.forEach(e -> loaded.put(e.getEmployeeId(),
+                        termsOf(e.getFirstName(), e.getLastName(), e.getEmail())));
+            }
+        });
+
+        synchronized (writeLock) {
+            Map<String, IdList> byTerm = new HashMap<>();
+            loaded.forEach((id, terms) -> {
+                if (termsById.containsKey(id) || removedDuringBuild.contains(id)) {
+                    return;
+                }
+                termsById.put(id, terms);
+                for (String term : terms) {
+                    byTerm.computeIfAbsent(term, t -> new IdList()).add(id);
+                }
+            });
+            byTerm.forEach((term, ids) -> postings.merge(term, ids.toSortedArray(), EmployeeSearchIndex::mergeSorted));
+            building = false;
+            removedDuringBuild.clear();
+        }
+
+        ready = true;
+        log.info("Employee search index built: {} employees, {} terms in {} ms",
+                termsById.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    private void put(Long employeeId, String[] terms) {
+        synchronized (writeLock) {
+            String[] old = termsById.put(employeeId, terms);
+            if (old != null) {
+                for (String term : old) {
+                    removePosting(term, employeeId);
+                }
+            }
+            for (String term : terms) {
+                addPosting(term, employeeId);
+            }
+        }
+    }
+
+    private void addPosting(String term, long id) {
+        long[] ids = postings.get(term);
+        if (ids == null) {
+            postings.put(term, new long[] {id});
+            return;
+        }
+        int at = Arrays.binarySearch(ids, id);
+        if (at >= 0) {
+            return;
+        }
+        int insert = -at - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insert);
+        copy[insert] = id;
+        System.arraycopy(ids, insert, copy, insert + 1, ids.length - insert);
+        postings.put(term, copy);
+    }
+
+    private void removePosting(String term, long id) {
+        long[] ids = postings.get(term);
+        if (ids == null) {
+            return;
+        }
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return;
+        }
+        if (ids.length == 1) {
+            postings.remove(term);
+            return;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, at);
+        System.arraycopy(ids, at + 1, copy, at, ids.length - at - 1);
+        postings.put(term, copy);
+    }
+
+    private static boolean matchesAll(String[] terms, String[] words) {
+        if (terms == null) {
+            return false;
+        }
+        for (String word : words) {
+            boolean matched = false;
+            for (String term : terms) {
+                if (term.startsWith(word)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String[] termsOf(String firstName, String lastName, String email) {
+        return Stream.of(firstName, lastName, email)
+                .filter(Objects::nonNull)
+                .map(EmployeeSearchIndex::normalize)
+                .filter(term -> !term.isEmpty())
+                .map(term -> term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term)
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] mergeSorted(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                next = a[i++];
+            } else {
+                next = b[j++];
+            }
+            if (n == 0 || merged[n - 1] != next) {
+                merged[n++] = next;
+            }
+        }
+        return Arrays.copyOf(merged, n);
+    }
+
+    private static final class IdList {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(ids, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
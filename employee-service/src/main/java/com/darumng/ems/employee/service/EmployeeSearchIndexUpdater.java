@@ -0,0 +1,59 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.event.EmployeeEvent;
+import com.darumng.ems.employee.event.EventCodec;
+import com.darumng.ems.employee.event.EventOrigin;
+import com.darumng.ems.employee.event.EventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies employee changes made on other replicas to this node's search index. The
+ * node's own writes are applied at commit by EmployeeService and simply re-applied here.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeSearchIndexUpdater {
+
+    private final EmployeeSearchIndex searchIndex;
+    private final EventCodec eventCodec;
+    private final OrgChartService orgChart;
+    private final EventOrigin eventOrigin;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = "${kafka.topic.employee-events}",
+                    partitions = "#{@partitionFinder.partitions('${kafka.topic.employee-events}')}"),
+            containerFactory = "broadcastListenerContainerFactory")
+    public void onEmployeeEvent(ConsumerRecord<String, byte[]> record) {
+        EmployeeEvent event;
+        try {
+            Header contentType = record.headers().lastHeader(EventCodec.CONTENT_TYPE_HEADER);
+            event = eventCodec.decodeEmployeeEvent(
+                    contentType == null ? null : new String(contentType.value(), StandardCharsets.UTF_8),
+                    record.value());
+        } catch (Exception e) {
+            log.warn("Skipping undecodable employee event at offset {}", record.offset(), e);
+            return;
+        }
+
+        // Only moves between departments affect the org chart, and this node's own
+        // were applied at commit; name and email edits leave it current
+        if (!eventOrigin.isLocal(record) && EventOrigin.isOrgChange(record)) {
+            orgChart.invalidate();
+        }
+
+        if (event.eventType() == EventType.EMPLOYEE_DELETED) {
+            searchIndex.remove(event.employeeId());
+        } else {
+            searchIndex.put(event.employeeId(), event.firstName(), event.lastName(), event.email());
+        }
+    }
+}
@@ -4,21 +4,78 @@ package com.darumng.ems.employee.service;
 import com.darumng.ems.employee.dto.*;
 import com.darumng.ems.employee.entity.*;
 import com.darumng.ems.employee.repository.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.List;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeService {
 
+    private static final Set<String> SORTABLE_FIELDS =
+            Set.of("employeeId", "firstName", "lastName", "email", "status", "createdAt", "updatedAt");
+
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final EmployeeEventPublisher eventPublisher;
+    private final DepartmentCache departmentCache;
+    private final EmployeeSearchIndex searchIndex;
+    private final DepartmentHeadcountService headcounts;
+    private final OrgChartService orgChart;
+    private final ChangeFeedService changeFeed;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${employee.bulk.max-size:50000}")
+    private int bulkMaxSize;
+
+    @Value("${employee.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    @Value("${employee.bulk.max-ids:20000}")
+    private int bulkMaxIds;
+
+    @Value("${pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${employee.lookup.max-ids:5000}")
+    private int lookupMaxIds;
+
+    @Value("${employee.search.default-limit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${employee.search.max-limit:100}")
+    private int maxSearchLimit;
 
     @Transactional
     public EmployeeResponse createEmployee(EmployeeRequest request) {
@@ -33,39 +90,320 @@ public class EmployeeService {
                 .status(EmployeeStatus.valueOf(request.getStatus()))
                 .build();
 
+        DepartmentInfo department = null;
         if (request.getDepartmentId() != null) {
-            Department department = departmentRepository.findById(request.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found"));
-            employee.setDepartment(department);
+            department = findDepartment(request.getDepartmentId());
+            employee.setDepartment(departmentRepository.getReferenceById(department.getId()));
         }
 
         employee = employeeRepository.save(employee);
         log.info("Employee created: {}", employee.getEmail());
 
+        headcounts.employeeAdded(department == null ? null : department.getId(), employee.getStatus());
+        if (department != null) {
+            orgChart.invalidateAfterCommit();
+        }
         eventPublisher.publishEmployeeCreated(employee);
+        searchIndex.putAfterCommit(List.of(employee));
+
+        return mapToResponse(employee, department);
+    }
+
+    /**
+     * Creates many employees in one transaction. Emails and departments are
+     * checked with set-based queries up front, invalid rows are reported
+     * individually, and the rest are inserted in JDBC batches.
+     */
+    @Transactional
+    public BulkEmployeeResponse bulkCreateEmployees(List<EmployeeRequest> requests) {
+        if (requests.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("At most " + bulkMaxSize + " employees can be created per request");
+        }
+
+        // Null elements are reported per row by validateBulkRow, so skip them here
+        Set<String> existingEmails = findExistingEmails(requests);
+        Map<Long, Department> departments = departmentRepository.findAllById(requests.stream()
+                        .filter(Objects::nonNull)
+                        .map(EmployeeRequest::getDepartmentId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+
+        BulkEmployeeResult[] results = new BulkEmployeeResult[requests.size()];
+        Set<String> seenEmails = new HashSet<>();
+        List<Employee> toInsert = new ArrayList<>();
+        List<Integer> insertIndexes = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeRequest request = requests.get(i);
+            String error = validateBulkRow(request, existingEmails, seenEmails, departments);
+            if (error != null) {
+                results[i] = BulkEmployeeResult.builder()
+                        .index(i)
+                        .success(false)
+                        .email(request == null ? null : request.getEmail())
+                        .error(error)
+                        .build();
+                continue;
+            }
+
+            toInsert.add(Employee.builder()
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .email(request.getEmail())
+                    .status(EmployeeStatus.valueOf(request.getStatus()))
+                    .department(request.getDepartmentId() == null ? null : departments.get(request.getDepartmentId()))
+                    .build());
+            insertIndexes.add(i);
+        }
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(bulkBatchSize);
+        for (int from = 0; from < toInsert.size(); from += bulkBatchSize) {
+            List<Employee> batch = toInsert.subList(from, Math.min(from + bulkBatchSize, toInsert.size()));
+            employeeRepository.saveAll(batch);
+            employeeRepository.flush();
+            headcounts.employeesAdded(batch);
+            orgChart.invalidateAfterCommit();
+            eventPublisher.publishEmployeesCreated(batch);
+            searchIndex.putAfterCommit(batch);
+            entityManager.clear();
+        }
+
+        for (int i = 0; i < toInsert.size(); i++) {
+            Employee employee = toInsert.get(i);
+            int index = insertIndexes.get(i);
+            results[index] = BulkEmployeeResult.builder()
+                    .index(index)
+                    .success(true)
+                    .employeeId(employee.getEmployeeId())
+                    .email(employee.getEmail())
+                    .build();
+        }
+        log.info("Bulk created {} of {} employees", toInsert.size(), requests.size());
+
+        return BulkEmployeeResponse.builder()
+                .total(requests.size())
+                .created(toInsert.size())
+                .failed(requests.size() - toInsert.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    @Transactional
+    public BulkUpdateResponse bulkChangeStatus(BulkStatusChangeRequest request) {
+        EmployeeFilter filter = request.getFilter();
+        requireBulkFilter(filter);
+        EmployeeStatus newStatus = parseStatus(request.getStatus());
+
+        List<EmployeeChange> changes = employeeRepository.bulkUpdateStatus(
+                filter.getEmployeeIds(), filter.getDepartmentId(), parseStatus(filter.getStatus()), newStatus);
+        log.info("Bulk status change to {} affected {} employees", newStatus, changes.size());
+        headcounts.employeesChanged(changes);
+
+        return publishBulkUpdate(changes, false);
+    }
+
+    @Transactional
+    public BulkUpdateResponse bulkMoveDepartment(BulkDepartmentMoveRequest request) {
+        EmployeeFilter filter = request.getFilter();
+        requireBulkFilter(filter);
+        findDepartment(request.getDepartmentId());
+
+        List<EmployeeChange> changes = employeeRepository.bulkUpdateDepartment(
+                filter.getEmployeeIds(), filter.getDepartmentId(), parseStatus(filter.getStatus()),
+                request.getDepartmentId());
+        log.info("Bulk move to department {} affected {} employees", request.getDepartmentId(), changes.size());
+        headcounts.employeesChanged(changes);
+        orgChart.invalidateAfterCommit();
+
+        return publishBulkUpdate(changes, true);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeResponse> getEmployeesPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<EmployeeResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = employeeRepository.findResponseFirstPage(limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = employeeRepository.findResponsePageAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+
+        return CursorPage.of(rows, pageSize,
+                e -> new PageCursor(e.getCreatedAt(), e.getEmployeeId()));
+    }
+
+    /**
+     * Same pages as {@link #getEmployeesPage}, but each item holds only the requested
+     * fields and only their columns are read.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getEmployeeFieldsPage(String cursor, Integer size, String fields) {
+        Set<EmployeeField> selected = EmployeeField.parse(fields);
+        int pageSize = resolvePageSize(size);
+
+        List<FieldRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = employeeRepository.findFieldsPage(selected, null, null, pageSize + 1);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = employeeRepository.findFieldsPage(selected, after.getCreatedAt(), after.getId(), pageSize + 1);
+        }
+
+        return CursorPage.of(rows, pageSize, r -> new PageCursor(r.getCreatedAt(), r.getId()))
+                .map(FieldRow::getValues);
+    }
+
+    /**
+     * Writes every matching employee as one JSON object per line, straight from
+     * a JDBC cursor. Rows are projected DTOs that never enter the persistence
+     * context, so memory stays flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public void exportEmployees(String status, Long departmentId, OutputStream out) throws IOException {
+        EmployeeStatus statusFilter = parseStatus(status);
+
+        try (Stream<EmployeeResponse> employees = employeeRepository.streamForExport(statusFilter, departmentId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+
+            for (EmployeeResponse employee : (Iterable<EmployeeResponse>) employees::iterator) {
+                writeExportLine(generator, employee);
+            }
+        }
+    }
+
+    /**
+     * Filters employees by any combination of status, department, created/updated ranges
+     * (half-open, [from, to)) and name prefix. Only the supplied filters become SQL
+     * predicates; sorting always ends with employeeId, so the last row of a page is a
+     * unique keyset position and the next page seeks past it instead of skipping rows.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeResponse> queryEmployees(EmployeeQuery query) {
+        int pageSize = resolvePageSize(query.getSize());
+        Sort sort = resolveSort(query);
+        Sort.Order order = sort.iterator().next();
+        boolean descending = order.isDescending();
+        requireRange("created", query.getCreatedFrom(), query.getCreatedTo());
+        requireRange("updated", query.getUpdatedFrom(), query.getUpdatedTo());
+
+        Specification<Employee> specification = Specification
+                .where(EmployeeSpecifications.hasStatus(parseStatus(query.getStatus())))
+                .and(EmployeeSpecifications.inDepartment(query.getDepartmentId()))
+                .and(EmployeeSpecifications.createdBetween(query.getCreatedFrom(), query.getCreatedTo()))
+                .and(EmployeeSpecifications.updatedBetween(query.getUpdatedFrom(), query.getUpdatedTo()))
+                .and(EmployeeSpecifications.namePrefix(query.getNamePrefix()));
+        if (query.getCursor() != null && !query.getCursor().isBlank()) {
+            QueryCursor after = QueryCursor.decode(query.getCursor());
+            if (!after.getSort().equals(order.getProperty()) || after.isDescending() != descending) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort");
+            }
+            specification = specification.and(EmployeeSpecifications.after(order.getProperty(),
+                    parseSortValue(order.getProperty(), after.getValue()), after.getEmployeeId(), descending));
+        }
 
-        return mapToResponse(employee);
+        List<EmployeeResponse> rows = employeeRepository.findResponses(specification, sort, pageSize + 1);
+        return CursorPage.of(rows, pageSize, e -> new QueryCursor(order.getProperty(), descending,
+                e.getEmployeeId(), sortValue(order.getProperty(), e)));
     }
 
+    /**
+     * Prefix search on first name, last name and email. The index resolves the ids;
+     * one primary-key query then loads at most {@code limit} rows.
+     */
     @Transactional(readOnly = true)
-    public List<EmployeeResponse> getAllEmployees() {
-        return employeeRepository.findAll().stream()
-                .map(this::mapToResponse)
+    public List<EmployeeResponse> searchEmployees(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int resultLimit = limit == null ? defaultSearchLimit : limit;
+        if (resultLimit < 1 || resultLimit > maxSearchLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxSearchLimit);
+        }
+        if (!searchIndex.isReady()) {
+            throw new IllegalStateException("Search index is still being built");
+        }
+
+        List<Long> ids = searchIndex.search(query, resultLimit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EmployeeResponse> byId = employeeRepository.findResponsesByIds(ids).stream()
+                .collect(Collectors.toMap(EmployeeResponse::getEmployeeId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Resolves many ids in one query. Duplicates and nulls are dropped; when
+     * {@code restrictToEmail} is set (EMPLOYEE callers), any other employee found is
+     * reported as forbidden rather than returned, as {@code GET /{id}} would answer 403.
+     */
+    @Transactional(readOnly = true)
+    public EmployeeLookupResponse lookupEmployees(List<Long> ids, String restrictToEmail) {
+        Set<Long> unique = ids == null ? Set.of() : ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        if (unique.size() > lookupMaxIds) {
+            throw new IllegalArgumentException("At most " + lookupMaxIds + " ids can be looked up per request");
+        }
+
+        Map<Long, EmployeeResponse> byId = employeeRepository.findResponsesByIdArray(unique).stream()
+                .collect(Collectors.toMap(EmployeeResponse::getEmployeeId, Function.identity()));
+
+        List<EmployeeResponse> employees = new ArrayList<>(byId.size());
+        List<Long> missingIds = new ArrayList<>();
+        List<Long> forbiddenIds = new ArrayList<>();
+        for (Long id : unique) {
+            EmployeeResponse employee = byId.get(id);
+            if (employee == null) {
+                missingIds.add(id);
+            } else if (restrictToEmail != null && !restrictToEmail.equals(employee.getEmail())) {
+                forbiddenIds.add(id);
+            } else {
+                employees.add(employee);
+            }
+        }
+
+        return EmployeeLookupResponse.builder()
+                .employees(employees)
+                .missingIds(missingIds)
+                .forbiddenIds(forbiddenIds)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public EmployeeVersion getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Employee not found"));
+    }
+
     @Transactional(readOnly = true)
     public EmployeeResponse getEmployeeById(Long id) {
-        Employee employee = employeeRepository.findById(id)
+        return employeeRepository.findResponseById(id)
+                .orElseThrow(() -> new RuntimeException("Employee not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getEmployeeFieldsById(Long id, String fields) {
+        return employeeRepository.findFieldsById(EmployeeField.parse(fields), id)
+                .map(FieldRow::getValues)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
-        return mapToResponse(employee);
     }
 
     @Transactional(readOnly = true)
     public List<EmployeeResponse> getEmployeesByDepartment(Long departmentId) {
-        return employeeRepository.findByDepartmentId(departmentId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return employeeRepository.findResponsesByDepartmentId(departmentId);
     }
 
     @Transactional
@@ -78,23 +416,88 @@ public class EmployeeService {
             throw new RuntimeException("Email already exists");
         }
 
+        Long previousDepartmentId = employee.getDepartment() == null ? null : employee.getDepartment().getId();
+        EmployeeStatus previousStatus = employee.getStatus();
+        boolean nameChanged = !Objects.equals(employee.getFirstName(), request.getFirstName())
+                || !Objects.equals(employee.getLastName(), request.getLastName());
+
         employee.setFirstName(request.getFirstName());
         employee.setLastName(request.getLastName());
         employee.setEmail(request.getEmail());
         employee.setStatus(EmployeeStatus.valueOf(request.getStatus()));
 
+        DepartmentInfo department = null;
         if (request.getDepartmentId() != null) {
-            Department department = departmentRepository.findById(request.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found"));
-            employee.setDepartment(department);
+            department = findDepartment(request.getDepartmentId());
+            employee.setDepartment(departmentRepository.getReferenceById(department.getId()));
+        } else if (employee.getDepartment() != null) {
+            department = findDepartment(employee.getDepartment().getId());
         }
 
         employee = employeeRepository.save(employee);
         log.info("Employee updated: {}", employee.getEmail());
 
-        eventPublisher.publishEmployeeUpdated(employee);
+        Long departmentId = department == null ? null : department.getId();
+        headcounts.employeeChanged(previousDepartmentId, previousStatus, departmentId, employee.getStatus());
+        if (nameChanged) {
+            managedDepartmentsChanged(id);
+        }
+        boolean departmentChanged = !Objects.equals(previousDepartmentId, departmentId);
+        if (departmentChanged) {
+            orgChart.invalidateAfterCommit();
+        }
+
+        eventPublisher.publishEmployeeUpdated(employee, departmentChanged);
+        searchIndex.putAfterCommit(List.of(employee));
 
-        return mapToResponse(employee);
+        return mapToResponse(employee, department);
+    }
+
+    /**
+     * Writes only the fields present in the request, in one UPDATE guarded by the row
+     * version instead of a read-modify-write. Throws {@link OptimisticLockingFailureException}
+     * when the employee changed after the caller read {@code request.version}.
+     */
+    @Transactional
+    public EmployeeResponse patchEmployee(Long id, EmployeePatchRequest request) {
+        EmployeeStatus status = parseStatus(request.getStatus());
+        if (request.getFirstName() == null && request.getLastName() == null && request.getEmail() == null
+                && request.getDepartmentId() == null && status == null) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+
+        DepartmentInfo department = null;
+        if (request.getDepartmentId() != null) {
+            department = findDepartment(request.getDepartmentId());
+        }
+        if (request.getEmail() != null && employeeRepository.existsByEmailAndEmployeeIdNot(request.getEmail(), id)) {
+            throw new RuntimeException("Email already exists");
+        }
+
+        EmployeeChange change = employeeRepository.patch(id, request.getVersion(), request.getFirstName(),
+                        request.getLastName(), request.getEmail(), request.getDepartmentId(), status)
+                .orElseThrow(() -> employeeRepository.existsById(id)
+                        ? new OptimisticLockingFailureException("Employee was modified by someone else; reload and retry")
+                        : new RuntimeException("Employee not found"));
+        log.info("Employee patched: {}", change.getEmail());
+
+        headcounts.employeesChanged(List.of(change));
+        if (request.getFirstName() != null || request.getLastName() != null) {
+            managedDepartmentsChanged(id);
+        }
+        boolean departmentChanged = !Objects.equals(change.getPreviousDepartmentId(), change.getDepartmentId());
+        if (departmentChanged) {
+            orgChart.invalidateAfterCommit();
+        }
+
+        Employee employee = toEmployee(change);
+        eventPublisher.publishEmployeeUpdated(employee, departmentChanged);
+        searchIndex.putAfterCommit(List.of(employee));
+
+        if (department == null && change.getDepartmentId() != null) {
+            department = findDepartment(change.getDepartmentId());
+        }
+        return mapToResponse(employee, department);
     }
 
     @Transactional
@@ -105,15 +508,207 @@ public class EmployeeService {
         employeeRepository.delete(employee);
         log.info("Employee deleted: {}", employee.getEmail());
 
-        eventPublisher.publishEmployeeDeleted(id);
+        headcounts.employeeRemoved(employee.getDepartment() == null ? null : employee.getDepartment().getId(),
+                employee.getStatus());
+        managedDepartmentsChanged(id);
+        boolean hadDepartment = employee.getDepartment() != null;
+        if (hadDepartment) {
+            orgChart.invalidateAfterCommit();
+        }
+
+        eventPublisher.publishEmployeeDeleted(id, hadDepartment);
+        changeFeed.employeeDeleted(id);
+        searchIndex.removeAfterCommit(id);
     }
 
-    private EmployeeResponse mapToResponse(Employee employee) {
-        DepartmentInfo deptInfo = null;
+    /**
+     * Department responses carry their manager's name, so renaming or deleting a manager
+     * changes the department list.
+     */
+    private void managedDepartmentsChanged(Long employeeId) {
+        if (departmentRepository.existsByManagerId(employeeId)) {
+            departmentRepository.bumpCollectionVersion();
+        }
+    }
+
+    private DepartmentInfo findDepartment(Long departmentId) {
+        return departmentCache.getDepartment(departmentId, departmentRepository::findInfoById)
+                .orElseThrow(() -> new RuntimeException("Department not found"));
+    }
+
+    private void requireBulkFilter(EmployeeFilter filter) {
+        boolean hasIds = filter.getEmployeeIds() != null && !filter.getEmployeeIds().isEmpty();
+        if (!hasIds && filter.getDepartmentId() == null
+                && (filter.getStatus() == null || filter.getStatus().isBlank())) {
+            throw new IllegalArgumentException("At least one filter criterion is required");
+        }
+        if (hasIds && filter.getEmployeeIds().size() > bulkMaxIds) {
+            throw new IllegalArgumentException("At most " + bulkMaxIds + " employee ids can be given per request");
+        }
+    }
+
+    private BulkUpdateResponse publishBulkUpdate(List<EmployeeChange> changes, boolean departmentChanged) {
+        List<Employee> updated = changes.stream()
+                .map(EmployeeService::toEmployee)
+                .collect(Collectors.toList());
+        eventPublisher.publishEmployeesUpdated(updated, departmentChanged);
+
+        return BulkUpdateResponse.builder()
+                .affected(changes.size())
+                .employeeIds(changes.stream().map(EmployeeChange::getEmployeeId).collect(Collectors.toList()))
+                .build();
+    }
+
+    // Detached copy carrying the columns events, the search index and responses read
+    private static Employee toEmployee(EmployeeChange change) {
+        return Employee.builder()
+                .employeeId(change.getEmployeeId())
+                .email(change.getEmail())
+                .firstName(change.getFirstName())
+                .lastName(change.getLastName())
+                .status(change.getStatus())
+                .createdAt(change.getCreatedAt())
+                .updatedAt(change.getUpdatedAt())
+                .version(change.getVersion())
+                .build();
+    }
+
+    private Set<String> findExistingEmails(List<EmployeeRequest> requests) {
+        List<String> emails = requests.stream()
+                .filter(Objects::nonNull)
+                .map(EmployeeRequest::getEmail)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        return new HashSet<>(employeeRepository.findExistingEmails(emails));
+    }
+
+    private String validateBulkRow(EmployeeRequest request, Set<String> existingEmails,
+                                   Set<String> seenEmails, Map<Long, Department> departments) {
+        if (request == null) {
+            return "Employee is required";
+        }
+        Set<ConstraintViolation<EmployeeRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        try {
+            EmployeeStatus.valueOf(request.getStatus());
+        } catch (IllegalArgumentException e) {
+            return "Invalid status: " + request.getStatus();
+        }
+        if (existingEmails.contains(request.getEmail())) {
+            return "Employee with this email already exists";
+        }
+        if (!seenEmails.add(request.getEmail())) {
+            return "Duplicate email in request";
+        }
+        if (request.getDepartmentId() != null && !departments.containsKey(request.getDepartmentId())) {
+            return "Department not found";
+        }
+        return null;
+    }
+
+    private EmployeeStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return EmployeeStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+    }
+
+    private void writeExportLine(JsonGenerator generator, EmployeeResponse employee) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("employeeId", employee.getEmployeeId());
+        generator.writeStringField("firstName", employee.getFirstName());
+        generator.writeStringField("lastName", employee.getLastName());
+        generator.writeStringField("email", employee.getEmail());
         if (employee.getDepartment() != null) {
+            generator.writeObjectFieldStart("department");
+            generator.writeNumberField("id", employee.getDepartment().getId());
+            generator.writeStringField("name", employee.getDepartment().getName());
+            generator.writeEndObject();
+        } else {
+            generator.writeNullField("department");
+        }
+        generator.writeStringField("status", employee.getStatus());
+        generator.writeStringField("createdAt", String.valueOf(employee.getCreatedAt()));
+        generator.writeStringField("updatedAt", String.valueOf(employee.getUpdatedAt()));
+        generator.writeNumberField("version", employee.getVersion());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void requireRange(String name, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException(name + "From must be before " + name + "To");
+        }
+    }
+
+    private Sort resolveSort(EmployeeQuery query) {
+        String field = query.getSort() == null || query.getSort().isBlank() ? "employeeId" : query.getSort();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Cannot sort by " + field + "; use one of " + SORTABLE_FIELDS);
+        }
+        Sort.Direction direction;
+        try {
+            direction = query.getDirection() == null ? Sort.Direction.ASC : Sort.Direction.fromString(query.getDirection());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid direction: " + query.getDirection());
+        }
+
+        Sort sort = Sort.by(direction, field);
+        return field.equals("employeeId") ? sort : sort.and(Sort.by(direction, "employeeId"));
+    }
+
+    private static String sortValue(String field, EmployeeResponse employee) {
+        return switch (field) {
+            case "firstName" -> employee.getFirstName();
+            case "lastName" -> employee.getLastName();
+            case "email" -> employee.getEmail();
+            case "status" -> employee.getStatus();
+            case "createdAt" -> employee.getCreatedAt().toString();
+            case "updatedAt" -> employee.getUpdatedAt().toString();
+            default -> "";
+        };
+    }
+
+    private static Comparable<?> parseSortValue(String field, String value) {
+        try {
+            return switch (field) {
+                case "status" -> EmployeeStatus.valueOf(value);
+                case "createdAt", "updatedAt" -> LocalDateTime.parse(value);
+                case "employeeId" -> null;
+                default -> value;
+            };
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
+
+    private EmployeeResponse mapToResponse(Employee employee, DepartmentInfo department) {
+        DepartmentInfo deptInfo = null;
+        if (department != null) {
             deptInfo = DepartmentInfo.builder()
-                    .id(employee.getDepartment().getId())
-                    .name(employee.getDepartment().getName())
+                    .id(department.getId())
+                    .name(department.getName())
                     .build();
         }
 
@@ -126,6 +721,7 @@ public class EmployeeService {
                 .status(employee.getStatus().name())
                 .createdAt(employee.getCreatedAt())
                 .updatedAt(employee.getUpdatedAt())
+                .version(employee.getVersion())
                 .build();
     }
 }
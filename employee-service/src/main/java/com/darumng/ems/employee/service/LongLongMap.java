@@ -0,0 +1,95 @@
+package com.darumng.ems.employee.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long to long without boxing, for id graphs with millions of
+ * entries. Keys must not be {@link Long#MIN_VALUE}. Not thread-safe; {@link OrgChart}
+ * only reads it after construction.
+ */
+final class LongLongMap {
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    LongLongMap(int expectedSize) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+    }
+
+    long get(long key, long missing) {
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : missing;
+    }
+
+    boolean containsKey(long key) {
+        return keys[find(key)] == key;
+    }
+
+    void put(long key, long value) {
+        int slot = find(key);
+        if (keys[slot] != key) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                values[slot] = value;
+                grow();
+                return;
+            }
+        }
+        values[slot] = value;
+    }
+
+    void addTo(long key, long delta) {
+        put(key, get(key, 0) + delta);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(Entry action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long key, long value);
+    }
+
+    private int find(long key) {
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+    }
+}
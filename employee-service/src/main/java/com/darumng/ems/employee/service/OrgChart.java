@@ -0,0 +1,271 @@
+package com.darumng.ems.employee.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the reporting graph: an employee reports to the manager of
+ * their department, unless they manage it themselves. Adjacency lists are packed into
+ * flat arrays indexed by primitive maps, so walks allocate almost nothing.
+ */
+final class OrgChart {
+
+    private static final long NONE = -1;
+
+    private final long generation;
+    private final LongLongMap departmentOf;
+    private final LongLongMap managerOf;
+    private final Adjacency membersOf;
+    private final Adjacency managedBy;
+    private final LongLongMap subtreeSizes;
+
+    /**
+     * @param employees   pairs of (employee id, department id)
+     * @param departments pairs of (department id, manager employee id)
+     */
+    OrgChart(long generation, LongPairs employees, LongPairs departments) {
+        this.generation = generation;
+        this.departmentOf = new LongLongMap(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            departmentOf.put(employees.first(i), employees.second(i));
+        }
+        this.managerOf = new LongLongMap(departments.size());
+        for (int i = 0; i < departments.size(); i++) {
+            managerOf.put(departments.first(i), departments.second(i));
+        }
+        this.membersOf = new Adjacency(employees);
+        this.managedBy = new Adjacency(departments);
+        this.subtreeSizes = subtreeSizes(departments);
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * Managers above the employee, nearest first; stops at the top or on a cycle.
+     */
+    List<Long> reportingChain(long employeeId, int maxDepth) {
+        List<Long> chain = new ArrayList<>();
+        long current = employeeId;
+        while (chain.size() < maxDepth) {
+            long department = departmentOf.get(current, NONE);
+            long manager = department == NONE ? NONE : managerOf.get(department, NONE);
+            if (manager == NONE || manager == current || manager == employeeId || chain.contains(manager)) {
+                break;
+            }
+            chain.add(manager);
+            current = manager;
+        }
+        return chain;
+    }
+
+    /**
+     * Every employee in departments the manager runs, directly or through managers
+     * below them, in no particular order.
+     */
+    long[] subtree(long managerId) {
+        LongLongMap seenDepartments = new LongLongMap(64);
+        long[] result = new long[16];
+        int count = 0;
+
+        long[] queue = new long[16];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = managerId;
+        while (head < tail) {
+            long manager = queue[head++];
+            long departments = managedBy.range(manager);
+            for (int d = Adjacency.start(departments); d < Adjacency.end(departments); d++) {
+                long department = managedBy.target(d);
+                if (seenDepartments.containsKey(department)) {
+                    continue;
+                }
+                seenDepartments.put(department, 1);
+                long members = membersOf.range(department);
+                for (int m = Adjacency.start(members); m < Adjacency.end(members); m++) {
+                    long member = membersOf.target(m);
+                    if (member == managerId) {
+                        continue;
+                    }
+                    if (count == result.length) {
+                        result = Arrays.copyOf(result, count * 2);
+                    }
+                    result[count++] = member;
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, tail * 2);
+                    }
+                    queue[tail++] = member;
+                }
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Same as {@code subtree(managerId).length}, precomputed when the snapshot is built.
+     */
+    long subtreeSize(long managerId) {
+        return subtreeSizes.get(managerId, 0);
+    }
+
+    /**
+     * Headcount below every manager in one pass. A department's parent is the department
+     * of its manager, so each has at most one parent and the departments form trees,
+     * some of them hanging off a single cycle. Sizes are summed up the trees leaves first;
+     * every department on a cycle reaches its whole component, manager included.
+     */
+    private LongLongMap subtreeSizes(LongPairs departments) {
+        int count = departments.size();
+        LongLongMap indexOf = new LongLongMap(count);
+        for (int i = 0; i < count; i++) {
+            indexOf.put(departments.first(i), i);
+        }
+        int[] parent = new int[count];
+        int[] children = new int[count];
+        long[] size = new long[count];
+        for (int i = 0; i < count; i++) {
+            long managerDepartment = departmentOf.get(departments.second(i), NONE);
+            parent[i] = managerDepartment == NONE ? -1 : (int) indexOf.get(managerDepartment, -1);
+            if (parent[i] >= 0) {
+                children[parent[i]]++;
+            }
+            size[i] = (int) membersOf.range(departments.first(i));
+        }
+
+        int[] queue = new int[count];
+        int tail = 0;
+        for (int i = 0; i < count; i++) {
+            if (children[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int up = parent[queue[head]];
+            if (up >= 0) {
+                size[up] += size[queue[head]];
+                if (--children[up] == 0) {
+                    queue[tail++] = up;
+                }
+            }
+        }
+
+        // Departments never reached from the leaves are the ones on a cycle
+        boolean[] onCycle = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            if (children[i] == 0 || onCycle[i]) {
+                continue;
+            }
+            long component = 0;
+            int at = i;
+            do {
+                component += size[at];
+                onCycle[at] = true;
+                at = parent[at];
+            } while (at != i);
+            do {
+                size[at] = component;
+                at = parent[at];
+            } while (at != i);
+        }
+
+        LongLongMap sizes = new LongLongMap(managedBy.ranges.size());
+        LongLongMap cyclic = new LongLongMap(16);
+        for (int i = 0; i < count; i++) {
+            long manager = departments.second(i);
+            if (onCycle[i]) {
+                cyclic.put(manager, size[i] - 1);
+            } else {
+                sizes.addTo(manager, size[i]);
+            }
+        }
+        cyclic.forEach(sizes::put);
+        return sizes;
+    }
+
+    /**
+     * Growable list of (long, long) pairs used to feed the snapshot.
+     */
+    static final class LongPairs {
+        private long[] data = new long[1024];
+        private int size;
+
+        void add(long first, long second) {
+            if (size * 2 == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size * 2] = first;
+            data[size * 2 + 1] = second;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long first(int index) {
+            return data[index * 2];
+        }
+
+        long second(int index) {
+            return data[index * 2 + 1];
+        }
+    }
+
+    /**
+     * Compressed adjacency over pairs grouped by their second value, e.g.
+     * (employee, department) gives department -> employees. Targets of a key are
+     * contiguous in one array; the key maps to (offset << 32 | length).
+     */
+    private static final class Adjacency {
+
+        private final LongLongMap ranges;
+        private final long[] targets;
+
+        Adjacency(LongPairs pairs) {
+            LongLongMap counts = new LongLongMap(pairs.size());
+            for (int i = 0; i < pairs.size(); i++) {
+                counts.addTo(pairs.second(i), 1);
+            }
+
+            LongLongMap next = new LongLongMap(counts.size());
+            LongLongMap built = new LongLongMap(counts.size());
+            int[] offset = {0};
+            counts.forEach((key, count) -> {
+                built.put(key, ((long) offset[0] << 32) | count);
+                next.put(key, offset[0]);
+                offset[0] += (int) count;
+            });
+
+            long[] packed = new long[pairs.size()];
+            for (int i = 0; i < pairs.size(); i++) {
+                int at = (int) next.get(pairs.second(i), 0);
+                packed[at] = pairs.first(i);
+                next.put(pairs.second(i), at + 1);
+            }
+            this.ranges = built;
+            this.targets = packed;
+        }
+
+        /**
+         * Packed (offset, length) of the key's targets; an empty range if it has none.
+         */
+        long range(long key) {
+            return ranges.get(key, 0);
+        }
+
+        long target(int index) {
+            return targets[index];
+        }
+
+        static int start(long range) {
+            return (int) (range >>> 32);
+        }
+
+        static int end(long range) {
+            return start(range) + (int) range;
+        }
+    }
+}
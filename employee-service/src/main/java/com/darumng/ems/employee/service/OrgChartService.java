@@ -0,0 +1,240 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.repository.DepartmentRepository;
+import com.darumng.ems.employee.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reporting chains and manager subtrees, answered from an in-memory {@link OrgChart}
+ * snapshot with recursive CTEs as the fallback.
+ * <p>
+ * Changes to department membership or managers invalidate the snapshot. A stale snapshot
+ * keeps serving for up to {@code max-staleness} while a new one is built in the
+ * background; past that, or before the first build, reads go to the CTEs. Rebuilds are
+ * spaced by {@code min-rebuild-interval}, so a burst of writes costs at most one reload
+ * per interval.
+ */
+@Service
+@Slf4j
+public class OrgChartService {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong firstStaleAt = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "org-chart-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile OrgChart snapshot;
+    private volatile long lastRebuildStarted;
+
+    @Value("${org-chart.max-depth:64}")
+    private int maxDepth;
+
+    @Value("${org-chart.min-rebuild-interval:PT5S}")
+    private Duration minRebuildInterval;
+
+    @Value("${org-chart.max-staleness:PT30S}")
+    private Duration maxStaleness;
+
+    @Value("${pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:500}")
+    private int maxPageSize;
+
+    public OrgChartService(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository,
+                           JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * The employee's managers, nearest first.
+     */
+    public List<EmployeeResponse> getReportingChain(Long employeeId) {
+        requireEmployee(employeeId);
+        OrgChart chart = current();
+        List<Long> chain = chart != null
+                ? chart.reportingChain(employeeId, maxDepth)
+                : trimCycle(employeeId, employeeRepository.findReportingChainIds(employeeId, maxDepth));
+        return loadInOrder(chain);
+    }
+
+    /**
+     * Everyone below the manager, ordered by employee id, at most {@code size} of them.
+     */
+    public List<EmployeeResponse> getSubtree(Long managerId, Integer size) {
+        int limit = resolvePageSize(size);
+        requireEmployee(managerId);
+        OrgChart chart = current();
+        List<Long> ids;
+        if (chart != null) {
+            long[] subtree = chart.subtree(managerId);
+            Arrays.sort(subtree);
+            ids = Arrays.stream(subtree).limit(limit).boxed().collect(Collectors.toList());
+        } else {
+            ids = departmentRepository.findSubtreeEmployeeIds(managerId, limit);
+        }
+        return loadInOrder(ids);
+    }
+
+    public long getSubtreeHeadcount(Long managerId) {
+        requireEmployee(managerId);
+        OrgChart chart = current();
+        return chart != null ? chart.subtreeSize(managerId) : departmentRepository.countSubtreeEmployees(managerId);
+    }
+
+    public void invalidate() {
+        firstStaleAt.compareAndSet(0, System.currentTimeMillis());
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Invalidates once the current transaction commits, so a rebuild cannot pick up the
+     * pre-change state and be taken as current.
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private OrgChart current() {
+        OrgChart chart = snapshot;
+        if (chart != null && chart.generation() == generation.get()) {
+            return chart;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastRebuildStarted >= minRebuildInterval.toMillis() && rebuilding.compareAndSet(false, true)) {
+            lastRebuildStarted = now;
+            rebuildExecutor.execute(this::rebuild);
+        }
+        long staleAt = firstStaleAt.get();
+        boolean usable = chart != null && staleAt != 0 && now - staleAt <= maxStaleness.toMillis();
+        return usable ? chart : null;
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        // Read the generation before loading: a change committed during the load leaves
+        // the snapshot marked stale rather than hiding the change
+        long snapshotGeneration = generation.get();
+        long staleAt = firstStaleAt.get();
+        try {
+            OrgChart chart = readOnlyTransaction.execute(status -> new OrgChart(snapshotGeneration,
+                    loadPairs("SELECT employee_id, department_id FROM employees WHERE department_id IS NOT NULL"),
+                    loadPairs("SELECT id, manager_id FROM departments WHERE manager_id IS NOT NULL")));
+            snapshot = chart;
+            if (generation.get() == snapshotGeneration) {
+                firstStaleAt.compareAndSet(staleAt, 0);
+            } else {
+                // Changes made during the load may be missing, but nothing older is, so
+                // the new snapshot is only as stale as the start of the load
+                firstStaleAt.set(started);
+            }
+            log.info("Org chart rebuilt in {} ms", System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Failed to rebuild org chart", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private OrgChart.LongPairs loadPairs(String sql) {
+        OrgChart.LongPairs pairs = new OrgChart.LongPairs();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            pairs.add(rs.getLong(1), rs.getLong(2));
+        });
+        return pairs;
+    }
+
+    private void requireEmployee(Long employeeId) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found");
+        }
+    }
+
+    // The CTE bounds a cyclic chain by depth only; cut it where it starts repeating
+    private static List<Long> trimCycle(Long employeeId, List<Long> chain) {
+        Set<Long> seen = new HashSet<>();
+        seen.add(employeeId);
+        List<Long> trimmed = new ArrayList<>();
+        for (Long manager : chain) {
+            if (!seen.add(manager)) {
+                break;
+            }
+            trimmed.add(manager);
+        }
+        return trimmed;
+    }
+
+    private List<EmployeeResponse> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EmployeeResponse> byId = employeeRepository.findResponsesByIds(ids).stream()
+                .collect(Collectors.toMap(EmployeeResponse::getEmployeeId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
+}
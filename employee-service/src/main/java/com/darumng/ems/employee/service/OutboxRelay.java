@@ -0,0 +1,110 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.entity.OutboxEvent;
+import com.darumng.ems.employee.event.EventCodec;
+import com.darumng.ems.employee.event.EventOrigin;
+import com.darumng.ems.employee.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox to Kafka in id order. Each batch is sent, acknowledged and deleted in
+ * one transaction; sending stops at the first unacknowledged record so only a contiguous
+ * prefix is removed and a retry re-sends the rest in the original order (at-least-once).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    // Arbitrary application-wide key for the relay's advisory lock
+    static final long RELAY_LOCK_KEY = 0x454D535F4F424F58L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed", e);
+        }
+    }
+
+    /**
+     * Relays one batch and returns the number of events delivered, or 0 when another
+     * instance holds the relay lock or delivery stopped early.
+     */
+    int relayBatch() {
+        if (!outboxEventRepository.tryLockRelay(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+        List<OutboxEvent> batch = outboxEventRepository.findNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaTemplate.send(toRecord(event)));
+        }
+        kafkaTemplate.flush();
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                delivered.add(event.getId());
+            } catch (Exception e) {
+                log.warn("Outbox event {} ({}) not acknowledged, will retry", event.getId(), event.getEventType(), e);
+                break;
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(delivered);
+            log.debug("Relayed {} outbox events", delivered.size());
+        }
+        return delivered.size() == batch.size() ? delivered.size() : 0;
+    }
+
+    private static ProducerRecord<String, byte[]> toRecord(OutboxEvent event) {
+        ProducerRecord<String, byte[]> record =
+                new ProducerRecord<>(event.getTopic(), event.getEventKey(), event.getPayload());
+        record.headers().add(EventCodec.CONTENT_TYPE_HEADER, event.getContentType().getBytes(StandardCharsets.UTF_8));
+        if (event.getSchemaId() != null) {
+            record.headers().add(EventCodec.SCHEMA_ID_HEADER, event.getSchemaId().getBytes(StandardCharsets.UTF_8));
+        }
+        if (event.getOrigin() != null) {
+            record.headers().add(EventOrigin.ORIGIN_HEADER, event.getOrigin().getBytes(StandardCharsets.UTF_8));
+        }
+        record.headers().add(EventOrigin.ORG_CHANGE_HEADER,
+                Boolean.toString(event.isOrgChange()).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,73 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.dto.CursorPage;
+import com.darumng.ems.employee.dto.DepartmentResponse;
+import com.darumng.ems.employee.dto.PageCursor;
+import com.darumng.ems.employee.repository.ReactiveDepartmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only department lookups for the reactive deployment, with the same ETags as
+ * {@link DepartmentService}. There is no near-cache here: the version check already costs
+ * a round trip, and the summary query is one more on a non-blocking connection.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveDepartmentService {
+
+    private final ReactiveDepartmentRepository departmentRepository;
+
+    @Value("${pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:500}")
+    private int maxPageSize;
+
+    public Mono<String> getDepartmentsETag() {
+        return departmentRepository.findCollectionVersion()
+                .map(version -> "\"" + version + "\"");
+    }
+
+    public Mono<String> getDepartmentETag(Long id) {
+        return departmentRepository.findVersionById(id)
+                .map(version -> "\"" + version + "\"")
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Department not found")));
+    }
+
+    public Mono<CursorPage<DepartmentResponse>> getDepartmentsPage(String cursor, Integer size) {
+        return Mono.fromCallable(() -> resolvePageSize(size))
+                .flatMap(pageSize -> rows(cursor, pageSize + 1)
+                        .collectList()
+                        .map(rows -> CursorPage.of(rows, pageSize,
+                                d -> new PageCursor(d.getCreatedAt(), d.getId()))));
+    }
+
+    public Mono<DepartmentResponse> getDepartmentById(Long id) {
+        return departmentRepository.findSummaryById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Department not found")));
+    }
+
+    private Flux<DepartmentResponse> rows(String cursor, int limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return departmentRepository.findSummaryFirstPage(limit);
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        return departmentRepository.findSummaryPageAfter(after.getCreatedAt(), after.getId(), limit);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,72 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.dto.CursorPage;
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.dto.EmployeeVersion;
+import com.darumng.ems.employee.dto.PageCursor;
+import com.darumng.ems.employee.repository.ReactiveEmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only employee lookups for the reactive deployment. Mirrors the read methods of
+ * {@link EmployeeService}, including paging limits and error messages; writes stay on the
+ * servlet deployment.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    @Value("${pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:500}")
+    private int maxPageSize;
+
+    public Mono<EmployeeVersion> getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Employee not found")));
+    }
+
+    public Mono<EmployeeResponse> getEmployeeById(Long id) {
+        return employeeRepository.findResponseById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Employee not found")));
+    }
+
+    public Mono<CursorPage<EmployeeResponse>> getEmployeesPage(String cursor, Integer size) {
+        return Mono.fromCallable(() -> resolvePageSize(size))
+                .flatMap(pageSize -> rows(cursor, pageSize + 1)
+                        .collectList()
+                        .map(rows -> CursorPage.of(rows, pageSize,
+                                e -> new PageCursor(e.getCreatedAt(), e.getEmployeeId()))));
+    }
+
+    public Flux<EmployeeResponse> getEmployeesByDepartment(Long departmentId) {
+        return employeeRepository.findResponsesByDepartmentId(departmentId);
+    }
+
+    private Flux<EmployeeResponse> rows(String cursor, int limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return employeeRepository.findResponseFirstPage(limit);
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        return employeeRepository.findResponsePageAfter(after.getCreatedAt(), after.getId(), limit);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
+}
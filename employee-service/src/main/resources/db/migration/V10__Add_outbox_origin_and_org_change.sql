@@ -0,0 +1,5 @@
+-- Relayed as record headers so replicas can ignore their own events and skip
+-- org-chart reloads for changes that move no one. Rows queued before this
+-- migration are treated as org changes from an unknown node.
+ALTER TABLE outbox_events ADD COLUMN origin VARCHAR(100);
+ALTER TABLE outbox_events ADD COLUMN org_change BOOLEAN NOT NULL DEFAULT TRUE;
@@ -0,0 +1,9 @@
+-- Change counters that stand in for list ETags, so a list read does not have to
+-- hash every row. Writers bump the counter in their own transaction, so a new
+-- value is never visible before the change it stands for.
+CREATE TABLE collection_versions (
+    name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO collection_versions (name, version) VALUES ('departments', 0);
@@ -0,0 +1,2 @@
+CREATE INDEX idx_employees_created_at_id ON employees(created_at, employee_id);
+CREATE INDEX idx_departments_created_at_id ON departments(created_at, id);
@@ -0,0 +1,4 @@
+-- Hibernate's pooled optimizer hands out blocks of 50 ids per nextval, which
+-- lets inserts be JDBC-batched; the sequence increment must match allocationSize.
+ALTER SEQUENCE employees_employee_id_seq INCREMENT BY 50;
+ALTER SEQUENCE departments_id_seq INCREMENT BY 50;
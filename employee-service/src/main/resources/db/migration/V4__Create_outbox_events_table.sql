@@ -0,0 +1,12 @@
+-- Events are written here in the same transaction as the change that caused
+-- them and relayed to Kafka in id order by OutboxRelay. The id is assigned by
+-- the database at insert time (no pooled block) so that, for a given key, a
+-- later transaction always gets a larger id than the one it waited on.
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    event_key VARCHAR(255) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,5 @@
+-- Outbox payloads are now encoded bytes (JSON or the binary event format);
+-- content type and schema id travel to Kafka as record headers.
+ALTER TABLE outbox_events ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
+ALTER TABLE outbox_events ADD COLUMN content_type VARCHAR(100) NOT NULL DEFAULT 'application/json';
+ALTER TABLE outbox_events ADD COLUMN schema_id VARCHAR(100);
@@ -0,0 +1,16 @@
+-- Indexes for the filter shapes of GET /api/employees/query.
+
+-- department [+ status], ordered by id; also serves the department_id foreign key,
+-- which makes the single-column index from V1 redundant
+CREATE INDEX idx_employees_department_status_id ON employees(department_id, status, employee_id);
+DROP INDEX idx_employees_department_id;
+
+-- status with a created_at range
+CREATE INDEX idx_employees_status_created_at ON employees(status, created_at, employee_id);
+
+-- updated_at ranges (recently changed employees)
+CREATE INDEX idx_employees_updated_at_id ON employees(updated_at, employee_id);
+
+-- case-insensitive name prefix: lower(name) LIKE 'abc%' can range-scan these
+CREATE INDEX idx_employees_lower_first_name ON employees(lower(first_name) text_pattern_ops);
+CREATE INDEX idx_employees_lower_last_name ON employees(lower(last_name) text_pattern_ops);
@@ -0,0 +1,16 @@
+-- Employee counts per department and status, maintained incrementally by
+-- EmployeeService and repaired by DepartmentHeadcountService.reconcile().
+-- Employees without a department are not counted.
+CREATE TABLE department_headcounts (
+    department_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    headcount BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (department_id, status),
+    CONSTRAINT fk_headcount_department FOREIGN KEY (department_id) REFERENCES departments(id) ON DELETE CASCADE
+);
+
+INSERT INTO department_headcounts (department_id, status, headcount)
+SELECT department_id, status, COUNT(*)
+FROM employees
+WHERE department_id IS NOT NULL
+GROUP BY department_id, status;
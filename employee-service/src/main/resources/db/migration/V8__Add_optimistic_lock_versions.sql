@@ -0,0 +1,4 @@
+-- Row versions for optimistic locking. Hibernate increments them on entity updates;
+-- the native bulk and PATCH updates bump them explicitly.
+ALTER TABLE employees ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE departments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
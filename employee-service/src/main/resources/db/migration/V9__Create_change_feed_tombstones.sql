@@ -0,0 +1,18 @@
+-- Delta-sync feed (GET /api/employees/changes). Live rows are read by updated_at;
+-- deleted rows leave a tombstone here so the feed can report them. Tombstones past
+-- the retention period are purged by ChangeFeedService.purgeTombstones().
+CREATE TABLE tombstones (
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (entity_type, entity_id)
+);
+
+CREATE INDEX idx_tombstones_type_deleted_at ON tombstones(entity_type, deleted_at, entity_id);
+
+-- employees already have (updated_at, employee_id) from V6
+CREATE INDEX idx_departments_updated_at_id ON departments(updated_at, id);
+
+-- The feed orders by updated_at, so every row needs one
+UPDATE employees SET updated_at = created_at WHERE updated_at IS NULL;
+UPDATE departments SET updated_at = created_at WHERE updated_at IS NULL;
@@ -0,0 +1,58 @@
+package com.darumng.ems.employee.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeTokenTest {
+
+    private static final LocalDateTime STARTED = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Test
+    void roundTrips() {
+        ChangeToken token = new ChangeToken(LocalDateTime.of(2024, 3, 2, 8, 30, 15, 123_456_000), 1, 9_876_543_210L, STARTED);
+
+        String encoded = token.encode();
+        ChangeToken decoded = ChangeToken.decode(encoded);
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(decoded.getChangedAt()).isEqualTo(token.getChangedAt());
+        assertThat(decoded.getKind()).isEqualTo(1);
+        assertThat(decoded.getId()).isEqualTo(9_876_543_210L);
+        assertThat(decoded.getSyncStartedAt()).isEqualTo(STARTED);
+    }
+
+    @Test
+    void safeSinceIsTheLaterOfLastChangeAndSyncStart() {
+        LocalDateTime before = STARTED.minusDays(1);
+        LocalDateTime after = STARTED.plusMinutes(5);
+
+        assertThat(new ChangeToken(before, 0, 1L, STARTED).safeSince()).isEqualTo(STARTED);
+        assertThat(new ChangeToken(after, 0, 1L, STARTED).safeSince()).isEqualTo(after);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2024-03-01T12:00|0|1", "2024-03-01T12:00|x|1|2024-03-01T12:00",
+            "yesterday|0|1|2024-03-01T12:00", "2024-03-01T12:00|0|null|2024-03-01T12:00"})
+    void rejectsMalformedTokens(String raw) {
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> ChangeToken.decode(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid change token");
+    }
+
+    @Test
+    void rejectsTokensThatAreNotBase64() {
+        assertThatThrownBy(() -> ChangeToken.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid change token");
+    }
+}
@@ -0,0 +1,129 @@
+package com.darumng.ems.employee.event;
+
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCodecTest {
+
+    private final EventCodec binary = codec("binary");
+    private final EventCodec json = codec("json");
+
+    @Test
+    void zigZagKeepsSmallNegativeNumbersShort() {
+        assertThat(new BinaryEventWriter().writeLong(0).toByteArray()).containsExactly(0x00);
+        assertThat(new BinaryEventWriter().writeLong(-1).toByteArray()).containsExactly(0x01);
+        assertThat(new BinaryEventWriter().writeLong(1).toByteArray()).containsExactly(0x02);
+        assertThat(new BinaryEventWriter().writeLong(-64).toByteArray()).containsExactly(0x7F);
+        assertThat(new BinaryEventWriter().writeLong(64).toByteArray()).containsExactly(0x80, 0x01);
+        assertThat(new BinaryEventWriter().writeLong(Long.MIN_VALUE).toByteArray()).hasSize(10);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, -1, 63, -64, 64, 127, 128, 300, -300,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE})
+    void longsRoundTrip(long value) {
+        byte[] bytes = new BinaryEventWriter().writeLong(value).toByteArray();
+
+        assertThat(new BinaryEventReader(bytes).readLong()).isEqualTo(value);
+    }
+
+    @Test
+    void stringsRoundTripIncludingNullAndEmpty() {
+        String longValue = "x".repeat(1000);
+        byte[] bytes = new BinaryEventWriter()
+                .writeString(null)
+                .writeString("")
+                .writeString("Zoë Łukasz 李")
+                .writeString(longValue)
+                .toByteArray();
+
+        BinaryEventReader reader = new BinaryEventReader(bytes);
+        assertThat(reader.readString()).isNull();
+        assertThat(reader.readString()).isEmpty();
+        assertThat(reader.readString()).isEqualTo("Zoë Łukasz 李");
+        assertThat(reader.readString()).isEqualTo(longValue);
+    }
+
+    @Test
+    void employeeEventRoundTripsInBothEncodings() {
+        EmployeeEvent event = new EmployeeEvent(EventType.EMPLOYEE_UPDATED, 42L, "ada@example.com",
+                "Ada", "Lovelace", EmployeeStatus.ON_LEAVE, 1_700_000_000_123L);
+
+        EncodedEvent encodedBinary = binary.encode(event);
+        EncodedEvent encodedJson = json.encode(event);
+
+        assertThat(encodedBinary.contentType()).isEqualTo(EventCodec.BINARY_CONTENT_TYPE);
+        assertThat(encodedJson.contentType()).isEqualTo(EventCodec.JSON_CONTENT_TYPE);
+        assertThat(encodedBinary.payload().length).isLessThan(encodedJson.payload().length);
+        // Either codec reads both formats, so producers and consumers can switch independently
+        assertThat(json.decodeEmployeeEvent(encodedBinary.contentType(), encodedBinary.payload())).isEqualTo(event);
+        assertThat(binary.decodeEmployeeEvent(encodedJson.contentType(), encodedJson.payload())).isEqualTo(event);
+    }
+
+    @Test
+    void deletedEmployeeEventKeepsNullFields() {
+        EmployeeEvent event = new EmployeeEvent(EventType.EMPLOYEE_DELETED, 7L, null, null, null, null, 5L);
+
+        EncodedEvent encoded = binary.encode(event);
+
+        assertThat(binary.decodeEmployeeEvent(encoded.contentType(), encoded.payload())).isEqualTo(event);
+    }
+
+    @Test
+    void departmentEventRoundTripsInBothEncodings() {
+        DepartmentEvent event = new DepartmentEvent(EventType.DEPARTMENT_CREATED, 3L, "Research",
+                null, 1_700_000_000_456L);
+
+        EncodedEvent encodedBinary = binary.encode(event);
+        EncodedEvent encodedJson = json.encode(event);
+
+        assertThat(binary.decodeDepartmentEvent(encodedBinary.contentType(), encodedBinary.payload())).isEqualTo(event);
+        assertThat(binary.decodeDepartmentEvent(encodedJson.contentType(), encodedJson.payload())).isEqualTo(event);
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() {
+        EncodedEvent encoded = binary.encode(new EmployeeEvent(EventType.EMPLOYEE_CREATED, 1L,
+                "a@example.com", "A", "B", EmployeeStatus.ACTIVE, 1L));
+
+        for (int length = 0; length < encoded.payload().length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded.payload(), length);
+            assertThatThrownBy(() -> binary.decodeEmployeeEvent(EventCodec.BINARY_CONTENT_TYPE, truncated))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsUnknownFormatVersion() {
+        byte[] payload = binary.encode(DepartmentEvent.deleted(1L)).payload();
+        payload[0] = 2;
+
+        assertThatThrownBy(() -> binary.decodeDepartmentEvent(EventCodec.BINARY_CONTENT_TYPE, payload))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void rejectsOverlongVarint() {
+        byte[] payload = new byte[12];
+        Arrays.fill(payload, (byte) 0xFF);
+
+        assertThatThrownBy(() -> new BinaryEventReader(payload).readLong())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static EventCodec codec(String encoding) {
+        EventCodec codec = new EventCodec(new ObjectMapper());
+        ReflectionTestUtils.setField(codec, "encoding", encoding);
+        return codec;
+    }
+}
@@ -0,0 +1,205 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * The common /employees/query shapes must be answered from an index, not by scanning
+ * employees. Plans come from auto_explain, so they are the ones Postgres chose for the
+ * statements Hibernate actually sent, with their bound values.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class EmployeeQueryPlanTest {
+
+    private static final int EMPLOYEES = 50_000;
+    private static final int DEPARTMENTS = 100;
+    private static final int PAGE = 51;
+    private static final Duration LOG_TIMEOUT = Duration.ofSeconds(10);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCommand("postgres",
+                    "-c", "shared_preload_libraries=auto_explain",
+                    "-c", "auto_explain.log_min_duration=0");
+
+    private static boolean seeded;
+    private static int markers;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        jdbc = new JdbcTemplate(dataSource);
+        if (seeded) {
+            return;
+        }
+        jdbc.update("INSERT INTO departments (name) SELECT 'Plan ' || i FROM generate_series(0, ?) i",
+                DEPARTMENTS - 1);
+        jdbc.update("""
+                INSERT INTO employees (first_name, last_name, email, department_id, status, created_at, updated_at)
+                SELECT 'name' || i, 'last' || i, 'plan' || i || '@example.com', d.id,
+                       (ARRAY['ACTIVE', 'INACTIVE', 'ON_LEAVE', 'TERMINATED'])[1 + i % 4],
+                       LOCALTIMESTAMP - i * INTERVAL '1 second',
+                       LOCALTIMESTAMP - (i * 7 % ?) * INTERVAL '1 second'
+                FROM generate_series(1, ?) i
+                JOIN departments d ON d.name = 'Plan ' || (i % ?)
+                """, EMPLOYEES, EMPLOYEES, DEPARTMENTS);
+        jdbc.execute("ANALYZE departments");
+        jdbc.execute("ANALYZE employees");
+        seeded = true;
+    }
+
+    @Test
+    void departmentFilter() {
+        String plan = explain(EmployeeSpecifications.inDepartment(departmentId("Plan 7")), byId());
+
+        assertIndexScan(plan);
+    }
+
+    @Test
+    void departmentAndStatusFilterUsesCompositeIndex() {
+        Specification<Employee> specification = Specification
+                .where(EmployeeSpecifications.inDepartment(departmentId("Plan 7")))
+                .and(EmployeeSpecifications.hasStatus(EmployeeStatus.ON_LEAVE));
+
+        String plan = explain(specification, byId());
+
+        assertIndexScan(plan);
+        assertThat(plan).contains("idx_employees_department_status_id");
+    }
+
+    @Test
+    void statusAndCreatedRangeSortedByCreatedAt() {
+        LocalDateTime now = LocalDateTime.now();
+        Specification<Employee> specification = Specification
+                .where(EmployeeSpecifications.hasStatus(EmployeeStatus.ACTIVE))
+                .and(EmployeeSpecifications.createdBetween(now.minusHours(2), now.minusHours(1)));
+
+        String plan = explain(specification, sorted(Sort.Direction.ASC, "createdAt"));
+
+        assertIndexScan(plan);
+    }
+
+    @Test
+    void updatedRangeSortedByUpdatedAtDescending() {
+        LocalDateTime now = LocalDateTime.now();
+        Specification<Employee> specification = EmployeeSpecifications.updatedBetween(now.minusHours(1), null);
+
+        String plan = explain(specification, sorted(Sort.Direction.DESC, "updatedAt"));
+
+        assertIndexScan(plan);
+    }
+
+    @Test
+    void rareNamePrefix() {
+        String plan = explain(EmployeeSpecifications.namePrefix("Name4999"), byId());
+
+        assertIndexScan(plan);
+    }
+
+    @Test
+    void keysetSecondPage() {
+        Sort sort = sorted(Sort.Direction.ASC, "createdAt");
+        Specification<Employee> active = EmployeeSpecifications.hasStatus(EmployeeStatus.ACTIVE);
+        List<EmployeeResponse> first = employeeRepository.findResponses(active, sort, PAGE);
+        EmployeeResponse last = first.get(first.size() - 1);
+
+        String plan = explain(Specification.where(active)
+                .and(EmployeeSpecifications.after("createdAt", last.getCreatedAt(), last.getEmployeeId(), false)), sort);
+
+        assertIndexScan(plan);
+    }
+
+    private String explain(Specification<Employee> specification, Sort sort) {
+        String marker = "explain-marker-" + (++markers);
+        jdbc.queryForObject("SELECT '" + marker + "'", String.class);
+        employeeRepository.findResponses(specification, sort, PAGE);
+
+        long deadline = System.nanoTime() + LOG_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            String plan = planAfter(postgres.getLogs(), marker);
+            if (plan != null) {
+                return plan;
+            }
+            sleep();
+        }
+        return fail("No auto_explain plan logged after " + marker);
+    }
+
+    // auto_explain logs "Query Text: ..." and then the plan as indented lines
+    private static String planAfter(String logs, String marker) {
+        int from = logs.indexOf(marker);
+        if (from < 0) {
+            return null;
+        }
+        String[] lines = logs.substring(from).split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].contains("Query Text:") && lines[i].contains("from employees e1_0")) {
+                StringBuilder plan = new StringBuilder();
+                for (int j = i + 1; j < lines.length && !lines[j].isEmpty() && Character.isWhitespace(lines[j].charAt(0)); j++) {
+                    plan.append(lines[j]).append('\n');
+                }
+                return plan.isEmpty() ? null : plan.toString();
+            }
+        }
+        return null;
+    }
+
+    private static void assertIndexScan(String plan) {
+        assertThat(plan).contains("Index").doesNotContain("Seq Scan on employees");
+    }
+
+    private Long departmentId(String name) {
+        return jdbc.queryForObject("SELECT id FROM departments WHERE name = ?", Long.class, name);
+    }
+
+    private static Sort byId() {
+        return Sort.by("employeeId");
+    }
+
+    private static Sort sorted(Sort.Direction direction, String field) {
+        return Sort.by(direction, field).and(Sort.by(direction, "employeeId"));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
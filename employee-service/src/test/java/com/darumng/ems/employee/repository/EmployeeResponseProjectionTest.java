@@ -0,0 +1,114 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.entity.Department;
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The EmployeeResponse projections must cost one statement whatever the result size:
+ * no Employee entities, no lazy department loads.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EmployeeResponseProjectionTest {
+
+    private static final int LARGE_DEPARTMENTS = 8;
+    private static final int EMPLOYEES_PER_DEPARTMENT = 25;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Statistics statistics;
+    private List<Long> smallIds;
+    private List<Long> largeIds;
+
+    @BeforeEach
+    void seed() {
+        smallIds = seedDepartments("small", 1, 1);
+        largeIds = seedDepartments("large", LARGE_DEPARTMENTS, EMPLOYEES_PER_DEPARTMENT);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findResponsesByIdsUsesOneStatementForAnyNumberOfEmployees() {
+        List<EmployeeResponse> small = measure(() -> employeeRepository.findResponsesByIds(smallIds));
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        List<EmployeeResponse> large = measure(() -> employeeRepository.findResponsesByIds(largeIds));
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        assertThat(small).hasSize(1);
+        assertThat(large).hasSize(largeIds.size());
+        assertThat(large).allSatisfy(response -> assertThat(response.getDepartment().getName()).startsWith("large"));
+        assertThat(largeStatements).isEqualTo(smallStatements).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findResponseFirstPageUsesOneStatementForAnyPageSize() {
+        int total = smallIds.size() + largeIds.size();
+
+        List<EmployeeResponse> small = measure(() -> employeeRepository.findResponseFirstPage(PageRequest.ofSize(1)));
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        List<EmployeeResponse> large = measure(() -> employeeRepository.findResponseFirstPage(PageRequest.ofSize(total)));
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        assertThat(small).hasSize(1);
+        assertThat(large).hasSize(total);
+        assertThat(largeStatements).isEqualTo(smallStatements).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private List<EmployeeResponse> measure(Supplier<List<EmployeeResponse>> query) {
+        entityManager.clear();
+        statistics.clear();
+        return query.get();
+    }
+
+    private List<Long> seedDepartments(String prefix, int departments, int employeesPerDepartment) {
+        List<Long> ids = new ArrayList<>();
+        for (int d = 0; d < departments; d++) {
+            Department department = entityManager.persist(Department.builder()
+                    .name(prefix + "-" + d)
+                    .build());
+            for (int e = 0; e < employeesPerDepartment; e++) {
+                Employee employee = entityManager.persist(Employee.builder()
+                        .firstName("First" + e)
+                        .lastName("Last" + d)
+                        .email(prefix + "-" + d + "-" + e + "@example.com")
+                        .department(department)
+                        .status(EmployeeStatus.ACTIVE)
+                        .build());
+                ids.add(employee.getEmployeeId());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,64 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk create checks every submitted email in one array-bound query, however many
+ * there are and whatever characters they contain.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ExistingEmailsTest {
+
+    private static final List<String> TAKEN = List.of("ada@example.com", "o'brien,\"quoted\"{x}@example.com");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void seed() {
+        for (String email : TAKEN) {
+            entityManager.persist(Employee.builder()
+                    .firstName("First")
+                    .lastName("Last")
+                    .email(email)
+                    .status(EmployeeStatus.ACTIVE)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findsTakenEmailsAmongManyInOneQuery() {
+        List<String> emails = new ArrayList<>(IntStream.range(0, 5_000)
+                .mapToObj(i -> "new-" + i + "@example.com")
+                .toList());
+        emails.addAll(TAKEN);
+
+        assertThat(employeeRepository.findExistingEmails(emails)).containsExactlyInAnyOrderElementsOf(TAKEN);
+    }
+
+    @Test
+    void emptyInputFindsNothing() {
+        assertThat(employeeRepository.findExistingEmails(List.of())).isEmpty();
+    }
+}
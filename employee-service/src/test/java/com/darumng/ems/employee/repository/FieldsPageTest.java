@@ -0,0 +1,95 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.entity.Department;
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sparse-fieldset pages are built at runtime, so only running them proves the JPQL is
+ * valid; page two is the first one with a keyset predicate.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class FieldsPageTest {
+
+    private static final int ROWS = 5;
+    private static final int PAGE = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private final List<String> emails = new ArrayList<>();
+    private final List<String> departmentNames = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < ROWS; i++) {
+            Department department = entityManager.persist(Department.builder()
+                    .name("fields-" + i)
+                    .build());
+            departmentNames.add(department.getName());
+            Employee employee = entityManager.persist(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("fields-" + i + "@example.com")
+                    .department(department)
+                    .status(EmployeeStatus.ACTIVE)
+                    .build());
+            emails.add(employee.getEmail());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void employeeFieldPagesContinuePastTheFirst() {
+        Set<EmployeeField> fields = EnumSet.of(EmployeeField.EMAIL, EmployeeField.DEPARTMENT_NAME);
+
+        List<FieldRow> first = employeeRepository.findFieldsPage(fields, null, null, PAGE);
+        FieldRow last = first.get(first.size() - 1);
+        List<FieldRow> second = employeeRepository.findFieldsPage(fields, last.getCreatedAt(), last.getId(), PAGE);
+
+        assertThat(first).extracting(row -> row.getValues().get("email")).containsExactlyElementsOf(emails.subList(0, 2));
+        assertThat(second).extracting(row -> row.getValues().get("email")).containsExactlyElementsOf(emails.subList(2, 4));
+        assertThat(second).extracting(FieldRow::getValues)
+                .containsExactly(Map.of("email", emails.get(2), "departmentName", departmentNames.get(2)),
+                        Map.of("email", emails.get(3), "departmentName", departmentNames.get(3)));
+    }
+
+    @Test
+    void departmentFieldPagesContinuePastTheFirst() {
+        Set<DepartmentField> fields = EnumSet.of(DepartmentField.NAME, DepartmentField.EMPLOYEE_COUNT);
+
+        List<FieldRow> first = departmentRepository.findFieldsPage(fields, null, null, PAGE);
+        FieldRow last = first.get(first.size() - 1);
+        List<FieldRow> second = departmentRepository.findFieldsPage(fields, last.getCreatedAt(), last.getId(), PAGE);
+
+        assertThat(first).extracting(row -> row.getValues().get("name"))
+                .containsExactlyElementsOf(departmentNames.subList(0, 2));
+        assertThat(second).extracting(FieldRow::getValues)
+                .containsExactly(Map.of("name", departmentNames.get(2), "employeeCount", 1L),
+                        Map.of("name", departmentNames.get(3), "employeeCount", 1L));
+    }
+}
@@ -0,0 +1,109 @@
+package com.darumng.ems.employee.repository;
+
+import com.darumng.ems.employee.dto.DepartmentResponse;
+import com.darumng.ems.employee.dto.EmployeeResponse;
+import com.darumng.ems.employee.entity.Department;
+import com.darumng.ems.employee.entity.Employee;
+import com.darumng.ems.employee.entity.EmployeeStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walking the keyset pages must return every row exactly once, including runs of rows
+ * that share a createdAt and are only told apart by id.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class KeysetPageTest {
+
+    private static final int ROWS = 7;
+    private static final int PAGE = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private final List<Long> employeeIds = new ArrayList<>();
+    private final List<Long> departmentIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < ROWS; i++) {
+            Department department = entityManager.persist(Department.builder()
+                    .name("keyset-" + i)
+                    .build());
+            departmentIds.add(department.getId());
+            Employee employee = entityManager.persist(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("keyset-" + i + "@example.com")
+                    .department(department)
+                    .status(EmployeeStatus.ACTIVE)
+                    .build());
+            employeeIds.add(employee.getEmployeeId());
+        }
+        entityManager.flush();
+
+        // All rows but the last share one timestamp, so most page boundaries fall inside a tie
+        LocalDateTime tied = LocalDateTime.of(2024, 1, 1, 0, 0);
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE employees SET created_at = CASE WHEN employee_id = :last THEN :later ELSE :tied END")
+                .setParameter("last", employeeIds.get(ROWS - 1))
+                .setParameter("later", tied.plusSeconds(1))
+                .setParameter("tied", tied)
+                .executeUpdate();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE departments SET created_at = CASE WHEN id = :last THEN :later ELSE :tied END")
+                .setParameter("last", departmentIds.get(ROWS - 1))
+                .setParameter("later", tied.plusSeconds(1))
+                .setParameter("tied", tied)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void employeePagesReturnEveryRowOnceInOrder() {
+        List<Long> seen = new ArrayList<>();
+        List<EmployeeResponse> page = employeeRepository.findResponseFirstPage(PageRequest.ofSize(PAGE));
+        while (!page.isEmpty()) {
+            page.forEach(row -> seen.add(row.getEmployeeId()));
+            EmployeeResponse last = page.get(page.size() - 1);
+            page = employeeRepository.findResponsePageAfter(last.getCreatedAt(), last.getEmployeeId(),
+                    PageRequest.ofSize(PAGE));
+        }
+
+        assertThat(seen).containsExactlyElementsOf(employeeIds);
+    }
+
+    @Test
+    void departmentPagesReturnEveryRowOnceInOrder() {
+        List<Long> seen = new ArrayList<>();
+        List<DepartmentResponse> page = departmentRepository.findSummaryFirstPage(PageRequest.ofSize(PAGE));
+        while (!page.isEmpty()) {
+            page.forEach(row -> seen.add(row.getId()));
+            DepartmentResponse last = page.get(page.size() - 1);
+            page = departmentRepository.findSummaryPageAfter(last.getCreatedAt(), last.getId(),
+                    PageRequest.ofSize(PAGE));
+        }
+
+        assertThat(seen).containsExactlyElementsOf(departmentIds);
+    }
+}
@@ -0,0 +1,128 @@
+package com.darumng.ems.employee.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayIdentityTest {
+
+    private static final String SECRET = "test-secret";
+
+    // Same vector as the gateway's IdentitySignerTest, so the two sides cannot drift apart
+    private static final String SIGNED_BY_GATEWAY = "NDEwMjQ0NDgwMHxST0xFX0FETUlOLFJPTEVfVVNFUnxhZGFAZXhhbXBsZS5jb20"
+            + ".dARsO2DMRna-5R1nXCzX2tWHbX4jq6JhxXUNU4qChek";
+
+    private final GatewayIdentity identity = gatewayIdentity(SECRET);
+
+    @Test
+    void acceptsHeaderSignedByGateway() {
+        UsernamePasswordAuthenticationToken authentication = identity.verify(SIGNED_BY_GATEWAY);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("ada@example.com");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN", "ROLE_USER");
+    }
+
+    @Test
+    void keepsPipesInEmail() {
+        UsernamePasswordAuthenticationToken authentication =
+                identity.verify(sign(SECRET, future() + "|ROLE_USER|odd|name@example.com"));
+
+        assertThat(authentication.getName()).isEqualTo("odd|name@example.com");
+    }
+
+    @Test
+    void acceptsEmptyRoles() {
+        UsernamePasswordAuthenticationToken authentication = identity.verify(sign(SECRET, future() + "||ada@example.com"));
+
+        assertThat(authentication.getAuthorities()).isEmpty();
+    }
+
+    @Test
+    void rejectsExpiredHeader() {
+        long past = Instant.now().getEpochSecond() - 1;
+
+        assertThat(identity.verify(sign(SECRET, past + "|ROLE_ADMIN|ada@example.com"))).isNull();
+    }
+
+    @Test
+    void rejectsHeaderSignedWithAnotherSecret() {
+        assertThat(identity.verify(sign("other-secret", future() + "|ROLE_ADMIN|ada@example.com"))).isNull();
+        assertThat(gatewayIdentity("other-secret").verify(SIGNED_BY_GATEWAY)).isNull();
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String signature = SIGNED_BY_GATEWAY.substring(SIGNED_BY_GATEWAY.indexOf('.'));
+        String elevated = base64("4102444800|ROLE_ADMIN,ROLE_SUPER|ada@example.com".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(identity.verify(elevated + signature)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "no-dot", ".", "a.b.c", "!!!.???"})
+    void rejectsMalformedHeader(String header) {
+        assertThat(identity.verify(header)).isNull();
+    }
+
+    @Test
+    void rejectsSignedGarbage() {
+        assertThat(identity.verify(sign(SECRET, "not-a-number|ROLE_ADMIN|ada@example.com"))).isNull();
+        assertThat(identity.verify(sign(SECRET, String.valueOf(future())))).isNull();
+    }
+
+    @Test
+    void signsInternalIdentityForAuthService() {
+        UsernamePasswordAuthenticationToken authentication = identity.verify(identity.signInternal());
+
+        assertThat(authentication.getName()).isEqualTo("employee-service");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(GatewayIdentity.INTERNAL_ROLE);
+        assertThat(gatewayIdentity("other-secret").verify(identity.signInternal())).isNull();
+    }
+
+    private static long future() {
+        return Instant.now().getEpochSecond() + 60;
+    }
+
+    private static GatewayIdentity gatewayIdentity(String secret) {
+        GatewayIdentity identity = new GatewayIdentity();
+        ReflectionTestUtils.setField(identity, "secret", secret);
+        try {
+            identity.init();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        return identity;
+    }
+
+    private static String sign(String secret, String payload) {
+        try {
+            Mac kdf = Mac.getInstance("HmacSHA256");
+            kdf.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(kdf.doFinal("ems-gateway-identity".getBytes(StandardCharsets.UTF_8)), "HmacSHA256"));
+            byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+            return base64(bytes) + "." + base64(mac.doFinal(bytes));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
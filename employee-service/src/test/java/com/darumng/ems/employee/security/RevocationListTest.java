@@ -0,0 +1,68 @@
+package com.darumng.ems.employee.security;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationListTest {
+
+    private final RevocationList revocations = revocationList();
+
+    @Test
+    void enforcesKafkaRevocationsBeforeAnySnapshot() {
+        revocations.onRevoked(record("family-1", String.valueOf(later())));
+
+        assertThat(revocations.isRevoked("family-1")).isTrue();
+        assertThat(revocations.isRevoked("family-2")).isFalse();
+        assertThat(revocations.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void snapshotTakesOverFromOverflow() {
+        revocations.onRevoked(record("family-1", String.valueOf(later())));
+
+        revocations.replaceSnapshot(List.of("family-1", "family-3"));
+
+        assertThat(revocations.isRevoked("family-1")).isTrue();
+        assertThat(revocations.isRevoked("family-3")).isTrue();
+    }
+
+    @Test
+    void keepsOverflowTheSnapshotDoesNotCoverUntilItExpires() {
+        revocations.onRevoked(record("family-1", String.valueOf(later())));
+        revocations.onRevoked(record("family-2", String.valueOf(System.currentTimeMillis() - 1)));
+
+        revocations.replaceSnapshot(List.of());
+
+        assertThat(revocations.isRevoked("family-1")).isTrue();
+        assertThat(revocations.isRevoked("family-2")).isFalse();
+    }
+
+    @Test
+    void ignoresUnreadableRecords() {
+        revocations.onRevoked(record("family-1", "soon"));
+        revocations.onRevoked(record(null, String.valueOf(later())));
+
+        assertThat(revocations.isRevoked("family-1")).isFalse();
+    }
+
+    private static long later() {
+        return System.currentTimeMillis() + 60_000;
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String key, String value) {
+        return new ConsumerRecord<>("token-revocations", 0, 0, key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RevocationList revocationList() {
+        RevocationList revocations = new RevocationList(RestClient.builder(), new GatewayIdentity(), 1000);
+        ReflectionTestUtils.setField(revocations, "falsePositiveRate", 1e-6);
+        return revocations;
+    }
+}
@@ -0,0 +1,78 @@
+package com.darumng.ems.employee.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSearchIndexTest {
+
+    // The repository and transaction template are only used by build()
+    private final EmployeeSearchIndex index = new EmployeeSearchIndex(null, null);
+
+    @BeforeEach
+    void seed() {
+        index.put(3L, "Ada", "Lovelace", "ada@example.com");
+        index.put(1L, "Adam", "Smith", "adam.smith@example.com");
+        index.put(2L, "Grace", "Hopper", "grace@example.com");
+    }
+
+    @Test
+    void matchesPrefixesCaseInsensitively() {
+        assertThat(index.search("ADA", 10)).containsExactly(3L, 1L);
+        assertThat(index.search("  hop ", 10)).containsExactly(2L);
+        assertThat(index.search("adam.s", 10)).containsExactly(1L);
+        assertThat(index.search("zed", 10)).isEmpty();
+    }
+
+    @Test
+    void ordersByMatchingTermThenId() {
+        index.put(0L, "Ada", "Byron", "byron@example.com");
+
+        assertThat(index.search("ada", 10)).containsExactly(0L, 3L, 1L);
+    }
+
+    @Test
+    void requiresEveryWordToMatch() {
+        assertThat(index.search("ada love", 10)).containsExactly(3L);
+        assertThat(index.search("smith ad", 10)).containsExactly(1L);
+        assertThat(index.search("ada hopper", 10)).isEmpty();
+    }
+
+    @Test
+    void stopsAtLimit() {
+        assertThat(index.search("a", 1)).hasSize(1);
+    }
+
+    @Test
+    void blankQueriesMatchNothing() {
+        assertThat(index.search("", 10)).isEmpty();
+        assertThat(index.search("   ", 10)).isEmpty();
+    }
+
+    @Test
+    void updatesReplaceOldTerms() {
+        index.put(3L, "Augusta", "King", "augusta@example.com");
+
+        assertThat(index.search("lovelace", 10)).isEmpty();
+        assertThat(index.search("ada", 10)).containsExactly(1L);
+        assertThat(index.search("king", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void removeDropsAllTerms() {
+        index.remove(2L);
+        index.remove(99L);
+
+        assertThat(index.search("grace", 10)).isEmpty();
+        assertThat(index.search("hopper", 10)).isEmpty();
+    }
+
+    @Test
+    void capsTermLength() {
+        String longName = "x".repeat(EmployeeSearchIndex.MAX_TERM_LENGTH + 20);
+        index.put(4L, longName, "Long", "long@example.com");
+
+        assertThat(index.search("x".repeat(EmployeeSearchIndex.MAX_TERM_LENGTH), 10)).containsExactly(4L);
+    }
+}
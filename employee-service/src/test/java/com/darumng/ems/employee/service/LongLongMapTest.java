@@ -0,0 +1,71 @@
+package com.darumng.ems.employee.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongLongMapTest {
+
+    @Test
+    void returnsMissingValueForAbsentKeys() {
+        LongLongMap map = new LongLongMap(4);
+
+        assertThat(map.get(1, -1)).isEqualTo(-1);
+        assertThat(map.containsKey(1)).isFalse();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void overwritesExistingKeysWithoutGrowing() {
+        LongLongMap map = new LongLongMap(4);
+
+        map.put(5, 1);
+        map.put(5, 2);
+        map.addTo(5, 10);
+        map.addTo(6, 3);
+
+        assertThat(map.get(5, 0)).isEqualTo(12);
+        assertThat(map.get(6, 0)).isEqualTo(3);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void acceptsZeroNegativeAndExtremeKeys() {
+        LongLongMap map = new LongLongMap(1);
+
+        map.put(0, 10);
+        map.put(-1, 20);
+        map.put(Long.MAX_VALUE, 30);
+        map.put(Long.MIN_VALUE + 1, 40);
+
+        assertThat(map.get(0, 0)).isEqualTo(10);
+        assertThat(map.get(-1, 0)).isEqualTo(20);
+        assertThat(map.get(Long.MAX_VALUE, 0)).isEqualTo(30);
+        assertThat(map.get(Long.MIN_VALUE + 1, 0)).isEqualTo(40);
+    }
+
+    @Test
+    void matchesHashMapAcrossManyResizes() {
+        // Undersized on purpose, and with colliding low bits, so every resize is exercised
+        LongLongMap map = new LongLongMap(1);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextBoolean() ? random.nextInt(50_000) : (long) random.nextInt(1000) << 32;
+            long value = random.nextLong();
+            map.put(key, value);
+            expected.put(key, value);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key, 0)).isEqualTo(value));
+
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+}
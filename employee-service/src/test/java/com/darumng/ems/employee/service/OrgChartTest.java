@@ -0,0 +1,77 @@
+package com.darumng.ems.employee.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrgChartTest {
+
+    @Test
+    void countsATreeOfDepartments() {
+        // 1 runs department 10 (2, 3); 2 runs department 20 (4, 5); 5 runs department 30 (6)
+        OrgChart.LongPairs employees = pairs(1, 0, 2, 10, 3, 10, 4, 20, 5, 20, 6, 30);
+        OrgChart.LongPairs departments = pairs(10, 1, 20, 2, 30, 5);
+
+        OrgChart chart = new OrgChart(0, employees, departments);
+
+        assertThat(chart.subtreeSize(1)).isEqualTo(5);
+        assertThat(chart.subtreeSize(2)).isEqualTo(3);
+        assertThat(chart.subtreeSize(5)).isEqualTo(1);
+        assertThat(chart.subtreeSize(6)).isZero();
+        assertThat(chart.subtreeSize(99)).isZero();
+    }
+
+    @Test
+    void excludesTheManagerWhenTheChainLoopsBack() {
+        // 1 runs department 10 (2) and sits in department 20, which 2 runs
+        OrgChart.LongPairs employees = pairs(1, 20, 2, 10, 3, 20, 4, 30);
+        OrgChart.LongPairs departments = pairs(10, 1, 20, 2, 30, 3);
+
+        OrgChart chart = new OrgChart(0, employees, departments);
+
+        assertThat(chart.subtreeSize(1)).isEqualTo(3);
+        assertThat(chart.subtreeSize(2)).isEqualTo(3);
+        assertThat(chart.subtreeSize(3)).isEqualTo(1);
+    }
+
+    @Test
+    void matchesTheWalkOnRandomGraphs() {
+        // Random managers give forests, cycles, self-managed departments and managers
+        // outside any department, so every shape the walk handles is compared
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int people = 1 + random.nextInt(60);
+            int departmentCount = 1 + random.nextInt(15);
+            OrgChart.LongPairs employees = new OrgChart.LongPairs();
+            for (long employee = 1; employee <= people; employee++) {
+                if (random.nextInt(10) > 0) {
+                    employees.add(employee, 1000 + random.nextInt(departmentCount));
+                }
+            }
+            OrgChart.LongPairs departments = new OrgChart.LongPairs();
+            for (long department = 1000; department < 1000 + departmentCount; department++) {
+                if (random.nextInt(5) > 0) {
+                    departments.add(department, 1 + random.nextInt(people));
+                }
+            }
+
+            OrgChart chart = new OrgChart(round, employees, departments);
+
+            for (long employee = 1; employee <= people; employee++) {
+                assertThat(chart.subtreeSize(employee))
+                        .as("round %d, employee %d", round, employee)
+                        .isEqualTo(chart.subtree(employee).length);
+            }
+        }
+    }
+
+    private static OrgChart.LongPairs pairs(long... values) {
+        OrgChart.LongPairs pairs = new OrgChart.LongPairs();
+        for (int i = 0; i < values.length; i += 2) {
+            pairs.add(values[i], values[i + 1]);
+        }
+        return pairs;
+    }
+}
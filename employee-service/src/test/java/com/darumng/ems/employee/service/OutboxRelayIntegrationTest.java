@@ -0,0 +1,211 @@
+package com.darumng.ems.employee.service;
+
+import com.darumng.ems.employee.dto.DepartmentRequest;
+import com.darumng.ems.employee.dto.EmployeeRequest;
+import com.darumng.ems.employee.event.DepartmentEvent;
+import com.darumng.ems.employee.event.EmployeeEvent;
+import com.darumng.ems.employee.event.EventCodec;
+import com.darumng.ems.employee.event.EventType;
+import com.darumng.ems.employee.repository.EmployeeRepository;
+import com.darumng.ems.employee.repository.OutboxEventRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs OutboxRelay end to end: service writes go through the outbox in Postgres (the relay
+ * needs its advisory lock) and come out of an embedded Kafka broker.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "eureka.client.enabled=false",
+        "jwt.secret=outbox-relay-integration-test-secret-0123456789abcdef",
+        "kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "kafka.topic.employee-events=" + OutboxRelayIntegrationTest.EMPLOYEE_TOPIC,
+        "kafka.topic.department-events=" + OutboxRelayIntegrationTest.DEPARTMENT_TOPIC,
+        "outbox.relay.interval-ms=50"
+})
+@EmbeddedKafka(partitions = 3, topics = {OutboxRelayIntegrationTest.EMPLOYEE_TOPIC, OutboxRelayIntegrationTest.DEPARTMENT_TOPIC})
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxRelayIntegrationTest {
+
+    static final String EMPLOYEE_TOPIC = "employee-events";
+    static final String DEPARTMENT_TOPIC = "department-events";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EventCodec eventCodec;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+    private final List<ConsumerRecord<String, byte[]>> received = new ArrayList<>();
+    private Consumer<String, byte[]> consumer;
+
+    @BeforeEach
+    void subscribe() {
+        consumer = new DefaultKafkaConsumerFactory<>(KafkaTestUtils.consumerProps("outbox-test-" + run, "false", broker),
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer();
+        broker.consumeFromEmbeddedTopics(consumer, EMPLOYEE_TOPIC, DEPARTMENT_TOPIC);
+    }
+
+    @AfterEach
+    void close() {
+        consumer.close();
+    }
+
+    @Test
+    void relaysCommittedWritesInOrderPerKey() {
+        Long departmentId = departmentService.createDepartment(department("v0")).getId();
+        Long first = employeeService.createEmployee(employee("first", "v0", departmentId)).getEmployeeId();
+        Long second = employeeService.createEmployee(employee("second", "v0", null)).getEmployeeId();
+        // Interleaved so per-key order cannot fall out of per-topic order by accident
+        for (int version = 1; version <= 3; version++) {
+            employeeService.updateEmployee(first, employee("first", "v" + version, departmentId));
+            departmentService.updateDepartment(departmentId, department("v" + version));
+            employeeService.updateEmployee(second, employee("second", "v" + version, null));
+        }
+
+        pollUntil(records -> employeeEvents(records, first).size() == 4
+                && employeeEvents(records, second).size() == 4
+                && departmentEvents(records, departmentId).size() == 4);
+
+        for (Long id : List.of(first, second)) {
+            List<EmployeeEvent> events = employeeEvents(received, id);
+            assertThat(events).extracting(EmployeeEvent::eventType).containsExactly(EventType.EMPLOYEE_CREATED,
+                    EventType.EMPLOYEE_UPDATED, EventType.EMPLOYEE_UPDATED, EventType.EMPLOYEE_UPDATED);
+            assertThat(events).extracting(EmployeeEvent::firstName).containsExactly("v0", "v1", "v2", "v3");
+        }
+        List<DepartmentEvent> departmentEvents = departmentEvents(received, departmentId);
+        assertThat(departmentEvents).extracting(DepartmentEvent::eventType).containsExactly(EventType.DEPARTMENT_CREATED,
+                EventType.DEPARTMENT_UPDATED, EventType.DEPARTMENT_UPDATED, EventType.DEPARTMENT_UPDATED);
+        assertThat(departmentEvents).extracting(DepartmentEvent::description).containsExactly("v0", "v1", "v2", "v3");
+    }
+
+    @Test
+    void rolledBackWritesAreNeverRelayed() {
+        String rolledBack = email("rolled-back");
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeService.createEmployee(employee("rolled-back", "v0", null));
+            status.setRollbackOnly();
+        });
+        Long marker = employeeService.createEmployee(employee("marker", "v0", null)).getEmployeeId();
+
+        // The marker was written after the rolled-back row would have been, and rows are
+        // relayed in id order, so once it is out and the outbox is drained nothing is pending
+        pollUntil(records -> !employeeEvents(records, marker).isEmpty() && outboxEventRepository.count() == 0);
+        pollFor(Duration.ofSeconds(1));
+
+        assertThat(employeeRepository.findByEmail(rolledBack)).isEmpty();
+        assertThat(received).filteredOn(record -> record.topic().equals(EMPLOYEE_TOPIC))
+                .extracting(record -> decodeEmployee(record).email())
+                .doesNotContain(rolledBack);
+    }
+
+    private void pollUntil(Predicate<List<ConsumerRecord<String, byte[]>>> done) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!done.test(received)) {
+            if (System.nanoTime() > deadline) {
+                fail("Outbox events not relayed within " + TIMEOUT + "; received " + received.size());
+            }
+            consumer.poll(Duration.ofMillis(100)).forEach(received::add);
+        }
+    }
+
+    private void pollFor(Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            consumer.poll(Duration.ofMillis(100)).forEach(received::add);
+        }
+    }
+
+    private List<EmployeeEvent> employeeEvents(List<ConsumerRecord<String, byte[]>> records, Long employeeId) {
+        return records.stream()
+                .filter(record -> record.topic().equals(EMPLOYEE_TOPIC) && record.key().equals(employeeId.toString()))
+                .map(this::decodeEmployee)
+                .toList();
+    }
+
+    private List<DepartmentEvent> departmentEvents(List<ConsumerRecord<String, byte[]>> records, Long departmentId) {
+        return records.stream()
+                .filter(record -> record.topic().equals(DEPARTMENT_TOPIC) && record.key().equals(departmentId.toString()))
+                .map(record -> eventCodec.decodeDepartmentEvent(contentType(record), record.value()))
+                .toList();
+    }
+
+    private EmployeeEvent decodeEmployee(ConsumerRecord<String, byte[]> record) {
+        return eventCodec.decodeEmployeeEvent(contentType(record), record.value());
+    }
+
+    private static String contentType(ConsumerRecord<String, byte[]> record) {
+        return new String(record.headers().lastHeader(EventCodec.CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8);
+    }
+
+    private DepartmentRequest department(String description) {
+        return DepartmentRequest.builder()
+                .name("Outbox " + run)
+                .description(description)
+                .build();
+    }
+
+    private EmployeeRequest employee(String name, String firstName, Long departmentId) {
+        return EmployeeRequest.builder()
+                .firstName(firstName)
+                .lastName(name)
+                .email(email(name))
+                .departmentId(departmentId)
+                .status("ACTIVE")
+                .build();
+    }
+
+    private String email(String name) {
+        return name + "-" + run + "@example.com";
+    }
+}
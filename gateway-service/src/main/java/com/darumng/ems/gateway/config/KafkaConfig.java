@@ -0,0 +1,44 @@
+package com.darumng.ems.gateway.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Map;
+
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * Consumer for RevocationList. Every gateway instance needs every revocation, so each
+     * assigns itself all partitions (see {@link PartitionFinder}) with no consumer group,
+     * reading only what arrives after startup; anything older comes with the first snapshot.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> revocationListenerContainerFactory(
+            KafkaProperties kafkaProperties) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(revocationConsumerFactory(kafkaProperties));
+        // There is no group to commit offsets to
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    @Bean
+    public PartitionFinder partitionFinder(KafkaProperties kafkaProperties) {
+        return new PartitionFinder(revocationConsumerFactory(kafkaProperties));
+    }
+
+    private static DefaultKafkaConsumerFactory<String, String> revocationConsumerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> configProps = kafkaProperties.buildConsumerProperties(null);
+        configProps.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(), new StringDeserializer());
+    }
+}
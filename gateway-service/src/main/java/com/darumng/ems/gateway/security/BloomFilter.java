@@ -0,0 +1,87 @@
+package com.darumng.ems.gateway.security;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable Bloom filter over strings, sized for its keys and a target false positive
+ * rate (about 29 bits per key at one in a million). Each filter gets a random seed, so a
+ * key that is a false positive in one filter is almost certainly not in the next.
+ */
+final class BloomFilter {
+
+    private static final BloomFilter EMPTY = new BloomFilter(64, 1, 0L);
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long seed;
+
+    private BloomFilter(long bitCount, int hashCount, long seed) {
+        this.words = new long[(int) ((bitCount + 63) / 64)];
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.seed = seed;
+    }
+
+    static BloomFilter empty() {
+        return EMPTY;
+    }
+
+    static BloomFilter of(Collection<String> keys, double falsePositiveRate) {
+        if (keys.isEmpty()) {
+            return EMPTY;
+        }
+        int n = keys.size();
+        double ln2 = Math.log(2);
+        long bitCount = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        // From the target rate rather than bitCount / n, which the 64-bit floor inflates
+        // for tiny sets (44 probes for a single key)
+        int hashCount = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / ln2));
+
+        BloomFilter filter = new BloomFilter(bitCount, hashCount, ThreadLocalRandom.current().nextLong());
+        keys.forEach(filter::add);
+        return filter;
+    }
+
+    boolean mightContain(String key) {
+        long state = hash(key);
+        for (int i = 0; i < hashCount; i++) {
+            state += GOLDEN_GAMMA;
+            long bit = Math.floorMod(mix(state), bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(String key) {
+        long state = hash(key);
+        for (int i = 0; i < hashCount; i++) {
+            state += GOLDEN_GAMMA;
+            long bit = Math.floorMod(mix(state), bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    // Seeded FNV-1a, finished with the SplitMix64 mixer. Probe positions are the
+    // SplitMix64 stream from that hash, one mix per probe; double hashing (h1 + i * h2)
+    // is cheaper but collapses onto a few positions when h2 shares factors with a
+    // power-of-two bitCount, which made small filters far worse than their target
+    private long hash(String key) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
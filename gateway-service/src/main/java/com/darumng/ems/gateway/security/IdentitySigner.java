@@ -0,0 +1,81 @@
+package com.darumng.ems.gateway.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Signs the identity the gateway has verified into the X-User-Identity header, so
+ * downstream services can trust it with one HMAC check instead of re-verifying the JWT.
+ * Format: base64url("expiresEpochSecond|role,role|email") + "." + base64url(HMAC-SHA256).
+ * The MAC key is derived from the shared secret, so it differs from the JWT signing key.
+ */
+@Component
+public class IdentitySigner {
+
+    public static final String HEADER = "X-User-Identity";
+
+    // Held only by service principals; auth-service reserves its internal endpoints for it
+    public static final String INTERNAL_ROLE = "ROLE_INTERNAL";
+
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    @Value("${gateway.identity.secret:${jwt.secret}}")
+    private String secret;
+
+    // Kept short: the header is only meant to cover one hop
+    @Value("${gateway.identity.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private Mac prototype;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        Mac kdf = Mac.getInstance("HmacSHA256");
+        kdf.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] key = kdf.doFinal("ems-gateway-identity".getBytes(StandardCharsets.UTF_8));
+
+        prototype = Mac.getInstance("HmacSHA256");
+        prototype.init(new SecretKeySpec(key, "HmacSHA256"));
+    }
+
+    /**
+     * Header value for a verified token; never valid past the token's own expiry
+     */
+    public String sign(VerifiedToken token) {
+        long expires = Instant.now().getEpochSecond() + ttlSeconds;
+        if (token.getExpiresAt() != null) {
+            expires = Math.min(expires, token.getExpiresAt().getEpochSecond());
+        }
+        return sign((expires + "|" + token.getRoles() + "|" + token.getUsername())
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String sign(byte[] payload) {
+        return BASE64.encodeToString(payload) + "." + BASE64.encodeToString(mac().doFinal(payload));
+    }
+
+    /**
+     * Header value identifying the gateway itself, for auth-service's internal endpoints
+     */
+    public String signInternal() {
+        long expires = Instant.now().getEpochSecond() + ttlSeconds;
+        return sign((expires + "|" + INTERNAL_ROLE + "|gateway-service").getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Mac is not thread-safe; a clone of the initialised prototype skips key setup
+    private Mac mac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC provider does not support cloning", e);
+        }
+    }
+}
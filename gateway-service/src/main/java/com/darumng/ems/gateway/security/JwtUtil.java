@@ -1,8 +1,11 @@
 package com.darumng.ems.gateway.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -20,22 +23,39 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String secret;
 
-    /**
-     * Get signing key from secret
-     */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    // Built once: the parser is immutable and thread-safe
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        SecretKey signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     /**
      * Extract all claims from token
      */
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verify the token once and return what the gateway needs from it, or null if the
+     * signature is bad, the token has expired or it is a refresh token
+     */
+    @SuppressWarnings("unchecked")
+    public VerifiedToken verify(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            if ("refresh".equals(claims.get("type", String.class))) {
+                return null;
+            }
+            return new VerifiedToken(claims.getSubject(), claims.get("roles", List.class),
+                    claims.getExpiration() == null ? null : claims.getExpiration().toInstant(),
+                    claims.get("fid", String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     /**
@@ -59,10 +79,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (Exception e) {
             return false;
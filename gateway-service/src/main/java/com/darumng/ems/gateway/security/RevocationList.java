@@ -0,0 +1,126 @@
+package com.darumng.ems.gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked refresh-token families, checked in memory on every request; auth-service is
+ * never called on the request path.
+ * <p>
+ * A Bloom filter holds the snapshot fetched from auth-service at the last rebuild.
+ * Revocations published since then arrive on Kafka and are kept in an exact overflow
+ * set until a snapshot covers them. auth-service only lists a family while its access
+ * tokens can still be live, so both stay small.
+ * <p>
+ * A false positive rejects a live session. Every rebuild uses a new seed, so one lasts at
+ * most a rebuild interval. Until the first snapshot arrives, only revocations seen on
+ * Kafka are enforced.
+ */
+@Component
+public class RevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationList.class);
+
+    @Autowired
+    private ReactorLoadBalancerExchangeFilterFunction loadBalancer;
+
+    @Autowired
+    private IdentitySigner identitySigner;
+
+    @Value("${gateway.revocation.snapshot-uri:http://auth-service/api/auth/revocations}")
+    private String snapshotUri;
+
+    @Value("${gateway.revocation.snapshot-timeout-ms:5000}")
+    private long snapshotTimeoutMs;
+
+    @Value("${gateway.revocation.false-positive-rate:0.000001}")
+    private double falsePositiveRate;
+
+    private WebClient webClient;
+
+    private volatile BloomFilter filter = BloomFilter.empty();
+
+    // Family id -> epoch millis after which its access tokens have all expired
+    private final Map<String, Long> overflow = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        webClient = WebClient.builder().filter(loadBalancer).build();
+    }
+
+    public boolean isRevoked(String familyId) {
+        if (familyId == null) {
+            return false;
+        }
+        return overflow.containsKey(familyId) || filter.mightContain(familyId);
+    }
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = "${kafka.topic.token-revocations:token-revocations}",
+                    partitions = "#{@partitionFinder.partitions('${kafka.topic.token-revocations:token-revocations}')}"),
+            containerFactory = "revocationListenerContainerFactory")
+    public void onRevoked(ConsumerRecord<String, String> record) {
+        if (record.key() == null || record.value() == null) {
+            return;
+        }
+        overflow.put(record.key(), Long.parseLong(record.value()));
+        log.debug("Token family {} revoked", record.key());
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.revocation.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        List<String> revoked;
+        try {
+            revoked = fetchSnapshot();
+        } catch (Exception e) {
+            log.warn("Could not fetch the revocation snapshot; keeping the current filter: {}", e.getMessage());
+            pruneOverflow();
+            return;
+        }
+
+        filter = BloomFilter.of(revoked, falsePositiveRate);
+        // Published before the overflow is trimmed, so no revocation is ever in neither
+        revoked.forEach(overflow::remove);
+        pruneOverflow();
+        log.debug("Rebuilt revocation filter with {} families; {} in overflow", revoked.size(), overflow.size());
+    }
+
+    private List<String> fetchSnapshot() {
+        JsonNode body = webClient.get()
+                .uri(snapshotUri)
+                .header(IdentitySigner.HEADER, identitySigner.signInternal())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block(Duration.ofMillis(snapshotTimeoutMs));
+        JsonNode ids = body == null ? null : body.path("data").path("familyIds");
+        if (ids == null || !ids.isArray()) {
+            throw new IllegalStateException("Malformed revocation snapshot");
+        }
+
+        List<String> revoked = new ArrayList<>(ids.size());
+        ids.forEach(id -> revoked.add(id.asText()));
+        return revoked;
+    }
+
+    private void pruneOverflow() {
+        long now = System.currentTimeMillis();
+        overflow.values().removeIf(forgetAfter -> forgetAfter < now);
+    }
+}
@@ -0,0 +1,42 @@
+package com.darumng.ems.gateway.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a token whose signature and expiry have been checked,
+ * with the roles header value already joined
+ */
+public final class VerifiedToken {
+
+    private final String username;
+    private final String roles;
+    private final Instant expiresAt;
+    private final String familyId;
+
+    public VerifiedToken(String username, List<String> roles, Instant expiresAt, String familyId) {
+        this.username = username;
+        this.roles = roles == null ? "" : String.join(",", roles);
+        this.expiresAt = expiresAt;
+        this.familyId = familyId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRoles() {
+        return roles;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Refresh-token family the token was issued from; null for tokens issued before families existed
+     */
+    public String getFamilyId() {
+        return familyId;
+    }
+}
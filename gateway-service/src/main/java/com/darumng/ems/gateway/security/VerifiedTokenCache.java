@@ -0,0 +1,88 @@
+package com.darumng.ems.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Verified tokens by SHA-256 digest, so a client repeating the same bearer token
+ * skips signature checking and claim parsing. Each entry expires at its token's
+ * exp; only valid tokens are cached, so junk tokens cannot flood it.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${jwt.claims-cache.max-size:100000}")
+    private long maxSize;
+
+    private Cache<String, VerifiedToken> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), value.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Claims of a valid token, or null if it is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        // Keyed by digest so raw bearer tokens are not kept on the heap
+        String key = digest(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified != null) {
+            return verified;
+        }
+
+        verified = jwtUtil.verify(token);
+        if (verified != null && verified.getExpiresAt() != null) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
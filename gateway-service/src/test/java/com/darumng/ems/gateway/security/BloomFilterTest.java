@@ -0,0 +1,60 @@
+package com.darumng.ems.gateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void emptyFilterContainsNothing() {
+        assertThat(BloomFilter.empty().mightContain("anything")).isFalse();
+        assertThat(BloomFilter.of(List.of(), 1e-6).mightContain("anything")).isFalse();
+    }
+
+    @Test
+    void neverMissesAnAddedKey() {
+        List<String> keys = randomKeys(10_000);
+
+        BloomFilter filter = BloomFilter.of(keys, 1e-6);
+
+        assertThat(keys).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = BloomFilter.of(randomKeys(10_000), 1e-3);
+
+        long falsePositives = randomKeys(100_000).stream().filter(filter::mightContain).count();
+
+        // Expect about 100; a wide margin keeps the test stable
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void singleKeyFilter() {
+        BloomFilter filter = BloomFilter.of(List.of("family-1"), 1e-6);
+
+        assertThat(filter.mightContain("family-1")).isTrue();
+        assertThat(filter.mightContain("family-2")).isFalse();
+    }
+
+    @Test
+    void smallFiltersMeetTheirTargetAcrossSeeds() {
+        // Each filter draws a new seed; probe positions that collapsed for some seeds
+        // used to let one in a dozen of these report a key they never saw
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> BloomFilter.of(List.of("family-1", "family-3"), 1e-6).mightContain("family-2"))
+                .count();
+
+        assertThat(falsePositives).isZero();
+    }
+
+    private static List<String> randomKeys(int count) {
+        return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID().toString()).toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.darumng.ems.gateway.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentitySignerTest {
+
+    // 2100-01-01T00:00:00Z
+    private static final Instant FAR_FUTURE = Instant.ofEpochSecond(4_102_444_800L);
+
+    @Test
+    void matchesVectorVerifiedByEmployeeService() throws Exception {
+        IdentitySigner signer = signer("test-secret", Long.MAX_VALUE / 2);
+
+        String header = signer.sign(new VerifiedToken("ada@example.com", List.of("ROLE_ADMIN", "ROLE_USER"), FAR_FUTURE, null));
+
+        // Same vector as employee-service's GatewayIdentityTest, so the two sides cannot drift apart
+        assertThat(header).isEqualTo("NDEwMjQ0NDgwMHxST0xFX0FETUlOLFJPTEVfVVNFUnxhZGFAZXhhbXBsZS5jb20"
+                + ".dARsO2DMRna-5R1nXCzX2tWHbX4jq6JhxXUNU4qChek");
+    }
+
+    @Test
+    void expiresAfterTtl() throws Exception {
+        IdentitySigner signer = signer("test-secret", 30);
+        long before = Instant.now().getEpochSecond();
+
+        long expires = expiresOf(signer.sign(new VerifiedToken("ada@example.com", List.of("ROLE_USER"), FAR_FUTURE, null)));
+
+        assertThat(expires).isBetween(before + 30, Instant.now().getEpochSecond() + 30);
+    }
+
+    @Test
+    void neverOutlivesTheToken() throws Exception {
+        IdentitySigner signer = signer("test-secret", 30);
+        Instant tokenExpiry = Instant.now().plusSeconds(5);
+
+        String header = signer.sign(new VerifiedToken("ada@example.com", List.of("ROLE_USER"), tokenExpiry, null));
+
+        assertThat(expiresOf(header)).isEqualTo(tokenExpiry.getEpochSecond());
+    }
+
+    @Test
+    void differentSecretsGiveDifferentSignatures() throws Exception {
+        VerifiedToken token = new VerifiedToken("ada@example.com", List.of("ROLE_USER"), FAR_FUTURE, null);
+
+        String a = signer("secret-a", Long.MAX_VALUE / 2).sign(token);
+        String b = signer("secret-b", Long.MAX_VALUE / 2).sign(token);
+
+        assertThat(a.substring(0, a.indexOf('.'))).isEqualTo(b.substring(0, b.indexOf('.')));
+        assertThat(a).isNotEqualTo(b);
+    }
+
+    @Test
+    void internalIdentityCarriesOnlyTheInternalRole() throws Exception {
+        String header = signer("test-secret", 30).signInternal();
+
+        String payload = new String(Base64.getUrlDecoder().decode(header.substring(0, header.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        assertThat(payload).endsWith("|ROLE_INTERNAL|gateway-service");
+        assertThat(header).isNotEqualTo(signer("other-secret", 30).signInternal());
+    }
+
+    private static long expiresOf(String header) {
+        String payload = new String(Base64.getUrlDecoder().decode(header.substring(0, header.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        return Long.parseLong(payload.substring(0, payload.indexOf('|')));
+    }
+
+    private static IdentitySigner signer(String secret, long ttlSeconds) throws Exception {
+        IdentitySigner signer = new IdentitySigner();
+        ReflectionTestUtils.setField(signer, "secret", secret);
+        ReflectionTestUtils.setField(signer, "ttlSeconds", ttlSeconds);
+        signer.init();
+        return signer;
+    }
+}
@@ -43,7 +43,7 @@ echo "-----------------------------------"
 
 # Check Java
 if ! command -v java &> /dev/null; then
-    echo -e "${RED}✗ Java is not installed. Please install Java 17+${NC}"
+    echo -e "${RED}✗ Java is not installed. Please install Java 21+${NC}"
     exit 1
 fi
 echo -e "${GREEN}✓ Java is installed${NC}"